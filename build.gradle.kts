@@ -10,12 +10,20 @@ plugins {
     // If you are operating in an environment where public repositories are not accessible, we recommend using a
     // virtual repository which mirrors both maven central and nexus snapshots.
     id("org.openrewrite.build.recipe-repositories") version "latest.release"
+
+    // Microbenchmarks in src/jmh/java, run with ./gradlew jmh
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 // Set as appropriate for your organization
 group = "io.github.timo-a"
 description = "Rewrite recipes."
 
+recipeDependencies {
+    // Type table of META-INF/rewrite/classpath.tsv.zip, regenerate it with ./gradlew createTypeTable
+    parserClasspath("org.projectlombok:lombok:1.18.38")
+}
+
 dependencies {
     // The bom version can also be set to a specific version
     // https://github.com/openrewrite/rewrite-recipe-bom/releases
@@ -55,6 +63,49 @@ dependencies {
     testImplementation("org.apache.logging.log4j:log4j-api:2.23.1")
     testImplementation("org.jboss.logging:jboss-logging:3.6.0.Final")
     testImplementation("commons-logging:commons-logging:1.3.2")
+
+    // The benchmarks parse sources that use Guava's `Range`
+    jmhRuntimeOnly("com.google.guava:guava:latest.release")
+}
+
+// The JFR events need jdk.jfr, which the API signatures of `--release 8` lack. They are compiled on their own and
+// only loaded by RecipeEvents if the runtime has JFR, everything else keeps the `--release 8` check.
+val jfrEvents = listOf("io/github/timoa/jfr/*Event.java", "io/github/timoa/jfr/JfrRecipeEvents.java")
+sourceSets.main {
+    java.exclude(jfrEvents)
+}
+val jfr: SourceSet by sourceSets.creating {
+    java.srcDir("src/main/java")
+    java.setIncludes(jfrEvents)
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+tasks.named<JavaCompile>(jfr.compileJavaTaskName) {
+    options.release.set(null as Int?)
+    sourceCompatibility = "1.8"
+    targetCompatibility = "1.8"
+}
+tasks.jar {
+    from(jfr.output)
+}
+sourceSets.test {
+    compileClasspath += jfr.output
+    runtimeClasspath += jfr.output
+}
+
+tasks.named<Test>("test") {
+    // Tests that run recipes over large synthetic corpora, run them with -Pslow
+    useJUnitPlatform {
+        if (!project.hasProperty("slow")) {
+            excludeTags("slow")
+        }
+    }
+}
+
+jmh {
+    // The benchmarks parse against the same libraries as the tests
+    includeTests.set(true)
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+    providers.gradleProperty("jmh.profilers").orNull?.let { profilers.add(it) }
 }
 
 signing {
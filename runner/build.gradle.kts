@@ -0,0 +1,33 @@
+plugins {
+    application
+    id("org.openrewrite.build.recipe-repositories")
+}
+
+description = "Runs the recipes of this library over a directory tree, spreading files across all cores."
+
+java {
+    // Virtual threads
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+dependencies {
+    implementation(project(":"))
+    implementation(platform("org.openrewrite.recipe:rewrite-recipe-bom:latest.release"))
+    implementation("org.openrewrite:rewrite-java")
+    runtimeOnly("org.openrewrite:rewrite-java-21")
+
+    testImplementation(platform("org.junit:junit-bom:latest.release"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testImplementation("org.assertj:assertj-core:latest.release")
+}
+
+application {
+    mainClass.set("io.github.timoa.runner.Main")
+}
+
+tasks.named<Test>("test") {
+    useJUnitPlatform()
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.runner;
+
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.YamlResourceLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs a recipe of this library, or a declarative composite of them, over a directory tree and writes the changes back.
+ * <p>
+ * The recipes report to the metrics and the profiler of this library if enabled with
+ * <code>-Dio.github.timoa.metrics=&lt;file&gt;</code> or <code>-Dio.github.timoa.profile=&lt;file&gt;</code>.
+ */
+public final class Main {
+
+    private static final String USAGE = """
+            Usage: runner [options] <directory> <recipe>
+
+              <recipe>                  the name of a recipe, e.g. io.github.timoa.lombok.Lombokify
+              --recipe-file <yml>       loads declarative recipes, e.g. a composite, from a YAML file
+              --classpath <paths>       jars and class directories to resolve types against, separated by '%s'
+              --executor virtual|forkjoin
+                                        runs each file on a virtual thread (default) or in a fork join pool
+              --parallelism <n>         the number of threads of the fork join pool, by default all cores
+              --max-cycles <n>          the maximum number of cycles, 3 by default
+              --dry-run                 lists the changed files without writing them
+            """.formatted(File.pathSeparator);
+
+    private Main() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path root = null;
+        String recipeName = null;
+        List<Path> recipeFiles = new ArrayList<>();
+        List<Path> classpath = new ArrayList<>();
+        String executorKind = "virtual";
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int maxCycles = 3;
+        boolean dryRun = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--recipe-file" -> recipeFiles.add(Path.of(args[++i]));
+                case "--classpath" -> Arrays.stream(args[++i].split(File.pathSeparator))
+                        .filter(entry -> !entry.isEmpty())
+                        .map(Path::of)
+                        .forEach(classpath::add);
+                case "--executor" -> executorKind = args[++i];
+                case "--parallelism" -> parallelism = Integer.parseInt(args[++i]);
+                case "--max-cycles" -> maxCycles = Integer.parseInt(args[++i]);
+                case "--dry-run" -> dryRun = true;
+                case "--help", "-h" -> {
+                    System.out.print(USAGE);
+                    return;
+                }
+                default -> {
+                    if (root == null) {
+                        root = Path.of(args[i]);
+                    } else if (recipeName == null) {
+                        recipeName = args[i];
+                    } else {
+                        usage("Unexpected argument " + args[i]);
+                    }
+                }
+            }
+        }
+        if (root == null || recipeName == null) {
+            usage("A directory and a recipe are required");
+            return;
+        }
+
+        Recipe recipe = environment(recipeFiles).activateRecipes(recipeName);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        try (ExecutorService executor = executor(executorKind, parallelism)) {
+            ParallelRecipeRun run = new ParallelRecipeRun(executor, errors::add);
+
+            long start = System.nanoTime();
+            List<SourceFile> sources = run.parse(root, classpath);
+            long parsed = System.nanoTime();
+            List<ParallelRecipeRun.Change> changes = run.run(recipe, sources, maxCycles);
+            long done = System.nanoTime();
+
+            for (ParallelRecipeRun.Change change : changes) {
+                System.out.println(describe(change));
+                if (!dryRun) {
+                    write(root, change);
+                }
+            }
+            System.out.printf("Parsed %d files in %d ms, ran %s in %d ms, %d files changed%n",
+                    sources.size(), (parsed - start) / 1_000_000, recipe.getName(), (done - parsed) / 1_000_000,
+                    changes.size());
+        }
+        for (Throwable error : errors) {
+            System.err.println(error);
+        }
+        if (!errors.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static Environment environment(List<Path> recipeFiles) throws IOException {
+        Environment.Builder builder = Environment.builder().scanRuntimeClasspath("io.github.timoa");
+        for (Path recipeFile : recipeFiles) {
+            try (InputStream yaml = Files.newInputStream(recipeFile)) {
+                builder.load(new YamlResourceLoader(yaml, recipeFile.toUri(), new Properties()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static ExecutorService executor(String kind, int parallelism) {
+        return switch (kind) {
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            case "forkjoin" -> new ForkJoinPool(parallelism);
+            default -> throw new IllegalArgumentException("Unknown executor " + kind + ", expected virtual or forkjoin");
+        };
+    }
+
+    private static String describe(ParallelRecipeRun.Change change) {
+        if (change.before() == null) {
+            return "created " + change.after().getSourcePath();
+        } else if (change.after() == null) {
+            return "deleted " + change.before().getSourcePath();
+        }
+        return "changed " + change.after().getSourcePath();
+    }
+
+    private static void write(Path root, ParallelRecipeRun.Change change) {
+        try {
+            if (change.before() != null && (change.after() == null ||
+                                            !change.before().getSourcePath().equals(change.after().getSourcePath()))) {
+                Files.deleteIfExists(root.resolve(change.before().getSourcePath()));
+            }
+            if (change.after() != null) {
+                Path file = root.resolve(change.after().getSourcePath());
+                Charset charset = change.after().getCharset() == null ? StandardCharsets.UTF_8 : change.after().getCharset();
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, change.after().printAll(), charset);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.print(USAGE);
+        System.exit(2);
+    }
+}
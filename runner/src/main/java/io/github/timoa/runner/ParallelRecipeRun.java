@@ -0,0 +1,246 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.runner;
+
+import io.github.timoa.lombok.RenameAccumulator;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.config.DeclarativeRecipe;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Parses the Java sources of a directory tree and runs a recipe over them, spreading files across an executor.
+ * <p>
+ * Parsing is a single compilation of all sources, so types declared in one file are attributed in every other file.
+ * A cycle follows the phases of the stock recipe scheduler: every {@link ScanningRecipe} in the recipe tree scans all
+ * source files and generates new ones, then every file is edited by all recipes in order. Only the files are
+ * processed concurrently, the phases stay strictly apart. Accumulators that are not known to be thread safe, i.e.
+ * anything but a {@link RenameAccumulator}, are filled by a single thread.
+ * <p>
+ * Each task gets its own {@link ExecutionContext}, so that no recipe shares context messages across threads. These
+ * contexts carry no recipe run cycle, so recipes do not write data tables; {@code RecipePerformance} still measures
+ * each file for the profiler, JFR and the metrics, it only skips its rows.
+ */
+public final class ParallelRecipeRun {
+
+    private final ExecutorService executor;
+    private final Consumer<Throwable> onError;
+
+    public ParallelRecipeRun(ExecutorService executor, Consumer<Throwable> onError) {
+        this.executor = executor;
+        this.onError = onError;
+    }
+
+    /**
+     * A source file before and after the run, {@code before} is null for generated files and {@code after} for
+     * deleted ones.
+     */
+    public record Change(@Nullable SourceFile before, @Nullable SourceFile after) {
+    }
+
+    /**
+     * Parses every {@code .java} file below the root, paths relative to the root.
+     * <p>
+     * All files go through one parser on the calling thread: splitting them across parsers would leave the types a
+     * file uses from another batch unattributed.
+     *
+     * @param classpath jars and class directories the types of the sources are resolved against
+     */
+    public List<SourceFile> parse(Path root, Collection<Path> classpath) {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(".java"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return JavaParser.fromJavaVersion().classpath(classpath).build()
+                .parseInputs(files.stream().map(file -> new Parser.Input(file, () -> read(file))).toList(), root, context())
+                .toList();
+    }
+
+    /**
+     * Runs the recipe for at most {@code maxCycles} cycles, another cycle only starts if a recipe in the tree asks for
+     * it and the previous cycle changed something.
+     *
+     * @return every source file that was changed, generated or deleted
+     */
+    public List<Change> run(Recipe recipe, List<SourceFile> sources, int maxCycles) {
+        List<Recipe> recipes = new ArrayList<>();
+        flatten(recipe, recipes);
+        boolean causesAnotherCycle = recipes.stream().anyMatch(Recipe::causesAnotherCycle);
+        //the bellwether a declarative recipe evaluates its preconditions with keeps the result of the current file in a field
+        boolean editInParallel = recipes.stream()
+                .noneMatch(r -> r instanceof DeclarativeRecipe declarative && !declarative.getPreconditions().isEmpty());
+
+        List<@Nullable SourceFile> before = new ArrayList<>(sources);
+        List<@Nullable SourceFile> after = new ArrayList<>(sources);
+        for (int cycle = 1; cycle <= maxCycles; cycle++) {
+            Map<Recipe, Object> accumulators = new IdentityHashMap<>();
+            for (Recipe r : recipes) {
+                if (r instanceof ScanningRecipe<?> scanning) {
+                    for (SourceFile generated : scan(scanning, after, accumulators)) {
+                        before.add(null);
+                        after.add(generated);
+                    }
+                }
+            }
+
+            List<@Nullable SourceFile> cycleStart = after;
+            List<Callable<@Nullable SourceFile>> edits = new ArrayList<>(cycleStart.size());
+            for (SourceFile source : cycleStart) {
+                edits.add(() -> edit(source, recipes, accumulators));
+            }
+            after = editInParallel ? invokeAll(edits) : callAll(edits);
+
+            boolean changed = false;
+            for (int i = 0; i < after.size() && !changed; i++) {
+                changed = after.get(i) != cycleStart.get(i);
+            }
+            if (!changed || !causesAnotherCycle) {
+                break;
+            }
+        }
+
+        List<Change> changes = new ArrayList<>();
+        for (int i = 0; i < after.size(); i++) {
+            if (before.get(i) != after.get(i)) {
+                changes.add(new Change(before.get(i), after.get(i)));
+            }
+        }
+        return changes;
+    }
+
+    private <T> Collection<? extends SourceFile> scan(ScanningRecipe<T> recipe, List<@Nullable SourceFile> sources,
+                                                      Map<Recipe, Object> accumulators) {
+        ExecutionContext ctx = context();
+        T acc = recipe.getInitialValue(ctx);
+        accumulators.put(recipe, acc);
+        List<Callable<@Nullable SourceFile>> scans = new ArrayList<>(sources.size());
+        for (SourceFile source : sources) {
+            scans.add(() -> {
+                if (source != null) {
+                    ExecutionContext fileCtx = context();
+                    TreeVisitor<?, ExecutionContext> scanner = recipe.getScanner(acc);
+                    if (scanner.isAcceptable(source, fileCtx)) {
+                        scanner.visit(source, fileCtx);
+                    }
+                }
+                return source;
+            });
+        }
+        if (acc instanceof RenameAccumulator) {
+            invokeAll(scans);
+        } else {
+            callAll(scans);
+        }
+        return recipe.generate(acc, ctx);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable SourceFile edit(@Nullable SourceFile source, List<Recipe> recipes, Map<Recipe, Object> accumulators) {
+        SourceFile s = source;
+        ExecutionContext ctx = context();
+        for (Recipe recipe : recipes) {
+            if (s == null) {
+                break;
+            }
+            TreeVisitor<?, ExecutionContext> visitor = recipe instanceof ScanningRecipe<?> ?
+                    ((ScanningRecipe<Object>) recipe).getVisitor(accumulators.get(recipe)) :
+                    recipe.getVisitor();
+            try {
+                if (visitor.isAcceptable(s, ctx)) {
+                    s = (SourceFile) visitor.visit(s, ctx);
+                }
+            } catch (RuntimeException e) {
+                onError.accept(new IllegalStateException(recipe.getName() + " failed on " + s.getSourcePath(), e));
+            }
+        }
+        return s;
+    }
+
+    private static void flatten(Recipe recipe, List<Recipe> recipes) {
+        recipes.add(recipe);
+        for (Recipe child : recipe.getRecipeList()) {
+            flatten(child, recipes);
+        }
+    }
+
+    private ExecutionContext context() {
+        return new InMemoryExecutionContext(onError);
+    }
+
+    private <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static <T> List<T> callAll(List<? extends Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            try {
+                results.add(task.call());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return results;
+    }
+
+    private static InputStream read(Path file) {
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.runner;
+
+import io.github.timoa.lombok.Lombokify;
+import io.github.timoa.lombok.NormalizeGetter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelRecipeRunTest {
+
+    @Test
+    void renamesAcrossFilesAfterScanning(@TempDir Path root) throws IOException {
+        write(root, "a/A.java", """
+          package a;
+          public class A {
+              private int foo;
+              public int fetchFoo() {
+                  return foo;
+              }
+          }
+          """);
+        write(root, "a/B.java", """
+          package a;
+          class B {
+              int foo(A a) {
+                  return a.fetchFoo();
+              }
+          }
+          """);
+
+        Map<String, String> changed = run(Executors.newVirtualThreadPerTaskExecutor(), root, new NormalizeGetter());
+
+        assertThat(changed).containsOnlyKeys("a/A.java", "a/B.java");
+        assertThat(changed.get("a/A.java")).contains("public int getFoo()");
+        assertThat(changed.get("a/B.java")).contains("return a.getFoo();");
+    }
+
+    @Test
+    void renamesCallersInOtherPackages(@TempDir Path root) throws IOException {
+        write(root, "a/A.java", """
+          package a;
+          public class A {
+              private int foo;
+              public int fetchFoo() {
+                  return foo;
+              }
+          }
+          """);
+        for (int i = 0; i < 8; i++) {
+            write(root, "b" + i + "/B.java", """
+              package b%d;
+              import a.A;
+              class B {
+                  int foo(A a) {
+                      return a.fetchFoo();
+                  }
+              }
+              """.formatted(i));
+        }
+
+        Map<String, String> changed = run(new ForkJoinPool(4), root, new NormalizeGetter());
+
+        assertThat(changed).hasSize(9);
+        for (int i = 0; i < 8; i++) {
+            assertThat(changed.get("b" + i + "/B.java")).contains("return a.getFoo();");
+        }
+    }
+
+    @Test
+    void sameResultAsTheStockScheduler(@TempDir Path root) throws IOException {
+        for (int i = 0; i < 16; i++) {
+            write(root, "p" + i % 4 + "/C" + i + ".java", """
+              package p%d;
+              public class C%d {
+                  private int foo;
+                  private String bar;
+                  public C%d() {
+                  }
+                  public int getFoo() {
+                      return foo;
+                  }
+                  public int fetchBar() {
+                      return bar.length();
+                  }
+                  public void setFoo(int foo) {
+                      this.foo = foo;
+                  }
+              }
+              """.formatted(i % 4, i, i));
+        }
+        ParallelRecipeRun sequential = new ParallelRecipeRun(Executors.newSingleThreadExecutor(), Throwable::printStackTrace);
+        List<SourceFile> sources = sequential.parse(root, List.of());
+        Map<String, String> expected = new Lombokify().run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext())
+          .getChangeset().getAllResults().stream()
+          .collect(Collectors.toMap(r -> r.getAfter().getSourcePath().toString(), r -> r.getAfter().printAll()));
+
+        assertThat(expected).hasSize(16);
+        assertThat(run(new ForkJoinPool(4), root, new Lombokify())).isEqualTo(expected);
+        assertThat(run(Executors.newVirtualThreadPerTaskExecutor(), root, new Lombokify())).isEqualTo(expected);
+    }
+
+    private static Map<String, String> run(ExecutorService executor, Path root, Recipe recipe) {
+        try (executor) {
+            ParallelRecipeRun run = new ParallelRecipeRun(executor, e -> {
+                throw new AssertionError(e);
+            });
+            return run.run(recipe, run.parse(root, List.of()), 3).stream()
+              .collect(Collectors.toMap(c -> c.after().getSourcePath().toString(), c -> c.after().printAll()));
+        }
+    }
+
+    private static void write(Path root, String path, String source) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+    }
+}
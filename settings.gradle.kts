@@ -1 +1,4 @@
 rootProject.name = "rewrite-recipe-starter"
+
+// Runs the recipes over a directory tree, see README.md
+include("runner")
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa;
+
+import io.github.timoa.lombok.*;
+import io.github.timoa.lombok.log.*;
+import io.github.timoa.misc.NormalizeBigDecimalCreation;
+import io.github.timoa.misc.UseRangesInOnePass;
+import io.github.timoa.misc.UseRangesRecipes;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every recipe of this library over {@value #FILES} pre-parsed files of a {@link SyntheticCorpus} of 1k, 10k
+ * or 100k lines.
+ * <p>
+ * The score is in files per second. With the GC profiler, `gc.alloc.rate.norm` is the number of bytes allocated per
+ * file, e.g. `./gradlew jmh -Pjmh.includes=RecipeBenchmark -Pjmh.profilers=gc`
+ * or `./mvnw -Pjmh test-compile exec:exec -Djmh.args="RecipeBenchmark -prof gc"`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(RecipeBenchmark.FILES)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeBenchmark {
+
+    static final int FILES = 20;
+
+    @Param({
+            "ConvertGetter", "ConvertSetter", "ConvertNoArgsConstructor", "NegligentlyConvertEquals",
+            "NormalizeGetter", "NormalizeSetter", "SummarizeGetter", "SummarizeSetter", "SummarizeData", "Lombokify",
+            "ConvertAnyLog", "ConvertSlf4j", "ConvertCommons", "ConvertLog4j2", "ConvertJBoss", "ConvertUtilLog",
+            "NormalizeBigDecimalCreation", "UseRangesRecipes", "UseRangesInOnePass"
+    })
+    public String recipe;
+
+    /**
+     * lines of code of all files together, see {@link SyntheticCorpus}
+     */
+    @Param({"1000", "10000", "100000"})
+    public int linesOfCode;
+
+    private Recipe toRun;
+    private List<SourceFile> sources;
+
+    @Setup
+    public void parse() {
+        toRun = recipe(recipe);
+        sources = SyntheticCorpus.builder().seed(42).linesOfCode(linesOfCode).files(FILES).build()
+                .parse(new InMemoryExecutionContext());
+    }
+
+    @Benchmark
+    public RecipeRun run() {
+        return toRun.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext());
+    }
+
+    private static Recipe recipe(String name) {
+        switch (name) {
+            case "ConvertGetter":
+                return new ConvertGetter();
+            case "ConvertSetter":
+                return new ConvertSetter();
+            case "ConvertNoArgsConstructor":
+                return new ConvertNoArgsConstructor();
+            case "NegligentlyConvertEquals":
+                return new NegligentlyConvertEquals();
+            case "NormalizeGetter":
+                return new NormalizeGetter();
+            case "NormalizeSetter":
+                return new NormalizeSetter();
+            case "SummarizeGetter":
+                return new SummarizeGetter();
+            case "SummarizeSetter":
+                return new SummarizeSetter();
+            case "SummarizeData":
+                return new SummarizeData();
+            case "Lombokify":
+                return new Lombokify();
+            case "ConvertAnyLog":
+                return new ConvertAnyLog(null);
+            case "ConvertSlf4j":
+                return new ConvertSlf4j(null);
+            case "ConvertCommons":
+                return new ConvertCommons(null);
+            case "ConvertLog4j2":
+                return new ConvertLog4j2(null);
+            case "ConvertJBoss":
+                return new ConvertJBoss(null);
+            case "ConvertUtilLog":
+                return new ConvertUtilLog(null);
+            case "NormalizeBigDecimalCreation":
+                return new NormalizeBigDecimalCreation();
+            case "UseRangesRecipes":
+                return new UseRangesRecipes();
+            case "UseRangesInOnePass":
+                return new UseRangesInOnePass();
+            default:
+                throw new IllegalArgumentException("Unknown recipe " + name);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa;
+
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures what a short invocation, e.g. a pre-commit hook, pays before the first file is done: the recipes of this
+ * library are loaded from the classpath and instantiated, then one of them visits a single small file.
+ * <p>
+ * Every measurement is a single shot in a fresh JVM, so class loading, static initializers and template preparation
+ * are part of it. The file is parsed in the setup, because parsing is not what the recipes can make cheaper.
+ * The time starts with the benchmark method: the boot of the JVM and of the JMH harness and the setup are not included,
+ * so add the JVM startup of the target machine to get the wall time of a hook.
+ * Run with `./gradlew jmh -Pjmh.includes=StartupBenchmark`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    @Param({"io.github.timoa.misc.UseRangesRecipes", "io.github.timoa.misc.UseRangesInOnePass", "io.github.timoa.lombok.Lombokify"})
+    public String recipe;
+
+    private List<SourceFile> sources;
+
+    @Setup
+    public void parse() {
+        sources = JavaParser.fromJavaVersion().build()
+                .parse(new InMemoryExecutionContext(),
+                        "class A {\n" +
+                        "    private int foo;\n" +
+                        "    public int getFoo() { return foo; }\n" +
+                        "    boolean inRange(int from, int to) { return from <= foo && foo < to; }\n" +
+                        "}")
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Only loads and instantiates every recipe, as listing or validating them does.
+     */
+    @Benchmark
+    public Collection<Recipe> loadRecipes() {
+        return Environment.builder().scanRuntimeClasspath("io.github.timoa").build().listRecipes();
+    }
+
+    @Benchmark
+    public RecipeRun firstVisit() {
+        Environment environment = Environment.builder().scanRuntimeClasspath("io.github.timoa").build();
+        environment.listRecipes();
+        return environment.activateRecipes(recipe)
+                .run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext());
+    }
+}
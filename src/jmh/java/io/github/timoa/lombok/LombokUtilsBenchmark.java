@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import lombok.AccessLevel;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the predicates and name derivations of {@link LombokUtils}, which run once per method of a code base.
+ * <p>
+ * Run with the GC profiler to see the bytes allocated per call, e.g.
+ * `./gradlew jmh -Pjmh.includes=LombokUtilsBenchmark -Pjmh.profilers=gc`.
+ * Apart from the derived names themselves, `gc.alloc.rate.norm` is expected to be 0.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LombokUtilsBenchmark {
+
+    private J.MethodDeclaration getter;
+    private J.MethodDeclaration setter;
+    private JavaType.Variable booleanField;
+
+    @Setup
+    public void parse() {
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+                .parse(new InMemoryExecutionContext(),
+                        "class A {\n" +
+                        "    private boolean isFoo;\n" +
+                        "    public boolean isFoo() { return isFoo; }\n" +
+                        "    protected void setFoo(boolean isFoo) { this.isFoo = isFoo; }\n" +
+                        "}")
+                .map(J.CompilationUnit.class::cast)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        List<Statement> members = cu.getClasses().get(0).getBody().getStatements();
+        booleanField = ((J.VariableDeclarations) members.get(0)).getVariables().get(0).getVariableType();
+        getter = (J.MethodDeclaration) members.get(1);
+        setter = (J.MethodDeclaration) members.get(2);
+    }
+
+    @Benchmark
+    public boolean isEffectivelyGetter() {
+        return LombokUtils.isEffectivelyGetter(getter);
+    }
+
+    @Benchmark
+    public boolean isEffectivelySetter() {
+        return LombokUtils.isEffectivelySetter(setter);
+    }
+
+    @Benchmark
+    public String deriveGetterMethodName() {
+        return LombokUtils.deriveGetterMethodName(booleanField);
+    }
+
+    @Benchmark
+    public AccessLevel getAccessLevel() {
+        return LombokUtils.getAccessLevel(setter.getModifiers());
+    }
+}
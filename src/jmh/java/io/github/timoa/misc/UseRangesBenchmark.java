@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.misc;
+
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the composite of the recipes generated from {@link UseRanges} with {@link UseRangesInOnePass}
+ * on a class with many `&&` expressions, most of which are no range checks.
+ * <p>
+ * Run with `./gradlew jmh -Pjmh.includes=UseRangesBenchmark -Pjmh.profilers=gc`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UseRangesBenchmark {
+
+    @Param({"composite", "onePass"})
+    public String recipe;
+
+    private Recipe toRun;
+    private List<SourceFile> sources;
+
+    @Setup
+    public void parse() {
+        toRun = "composite".equals(recipe) ? new UseRangesRecipes() : new UseRangesInOnePass();
+        StringBuilder source = new StringBuilder("import java.math.BigDecimal;\n\nclass A {\n");
+        for (int i = 0; i < 200; i++) {
+            source.append("    boolean m").append(i).append("(int a, int b, int c, BigDecimal x, BigDecimal y, BigDecimal z) {\n")
+                    .append("        boolean flags = a > 0 && b != c && (a & b) == 0;\n")
+                    .append("        boolean ints = a <= b && b < c;\n")
+                    .append("        boolean decimals = x.compareTo(y) < 0 && y.compareTo(z) <= 0;\n")
+                    .append("        return flags && ints && decimals;\n")
+                    .append("    }\n");
+        }
+        source.append("}\n");
+        sources = JavaParser.fromJavaVersion().classpath("guava").build()
+                .parse(new InMemoryExecutionContext(), source.toString())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public RecipeRun run() {
+        return toRun.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext());
+    }
+}
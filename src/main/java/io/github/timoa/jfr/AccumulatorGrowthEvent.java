@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * An entry was added to the accumulator of a scanning recipe.
+ */
+@Name("io.github.timoa.AccumulatorGrowth")
+@Label("Scanning Accumulator Growth")
+@Category({"OpenRewrite", "Recipes"})
+@Enabled(false)
+@StackTrace(false)
+class AccumulatorGrowthEvent extends Event {
+
+    @Label("Accumulator")
+    public String accumulator;
+
+    @Label("Entries")
+    @Description("entries in the accumulator after the addition")
+    public int entries;
+
+    @Label("Symbols")
+    @Description("distinct strings the entries refer to")
+    public int symbols;
+}
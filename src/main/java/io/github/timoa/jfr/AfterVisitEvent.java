@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A visitor scheduled another visitor to run after it, e.g. to add an import.
+ */
+@Name("io.github.timoa.AfterVisit")
+@Label("After Visit Scheduled")
+@Category({"OpenRewrite", "Recipes"})
+@Enabled(false)
+@StackTrace(false)
+class AfterVisitEvent extends Event {
+
+    @Label("Visitor")
+    public String visitor;
+
+    @Label("Scheduled Visitor")
+    public String scheduled;
+}
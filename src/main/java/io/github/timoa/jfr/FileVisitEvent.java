@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A recipe visiting one source file, from start to end, in the scanning or the editing phase.
+ */
+@Name("io.github.timoa.FileVisit")
+@Label("Recipe File Visit")
+@Category({"OpenRewrite", "Recipes"})
+@Enabled(false)
+@StackTrace(false)
+class FileVisitEvent extends Event {
+
+    @Label("Recipe")
+    public String recipe;
+
+    @Label("Source Path")
+    public String sourcePath;
+
+    @Label("Phase")
+    @Description("scan or edit")
+    public String phase;
+
+    @Label("Changed")
+    public boolean changed;
+}
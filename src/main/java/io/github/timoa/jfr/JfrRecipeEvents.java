@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.jfr;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaCoordinates;
+
+import java.util.function.IntSupplier;
+
+/**
+ * {@link RecipeEvents} on JFR, loaded by {@link RecipeEvents#get()} if the runtime has {@code jdk.jfr}.
+ */
+@SuppressWarnings("unused")
+final class JfrRecipeEvents extends RecipeEvents {
+
+    @Override
+    public FileVisit fileVisit() {
+        FileVisitEvent event = new FileVisitEvent();
+        event.begin();
+        return (recipe, sourcePath, phase, changed) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.recipe = recipe;
+                event.sourcePath = sourcePath;
+                event.phase = phase;
+                event.changed = changed;
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    public <J2 extends J> J2 applyTemplate(JavaTemplate template, Cursor scope, JavaCoordinates coordinates,
+                                           Object... parameters) {
+        TemplateApplyEvent event = new TemplateApplyEvent();
+        event.begin();
+        J2 applied = template.apply(scope, coordinates, parameters);
+        event.end();
+        if (event.shouldCommit()) {
+            event.template = template.getCode();
+            event.commit();
+        }
+        return applied;
+    }
+
+    @Override
+    public void afterVisit(TreeVisitor<?, ?> visitor, TreeVisitor<?, ?> scheduled) {
+        AfterVisitEvent event = new AfterVisitEvent();
+        if (event.shouldCommit()) {
+            event.visitor = visitor.getClass().getName();
+            event.scheduled = scheduled.getClass().getName();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void accumulatorGrowth(Object accumulator, int entries, IntSupplier symbols) {
+        AccumulatorGrowthEvent event = new AccumulatorGrowthEvent();
+        if (event.shouldCommit()) {
+            event.accumulator = accumulator.getClass().getName();
+            event.entries = entries;
+            event.symbols = symbols.getAsInt();
+            event.commit();
+        }
+    }
+}
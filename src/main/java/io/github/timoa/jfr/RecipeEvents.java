@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.jfr;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaCoordinates;
+
+import java.util.function.IntSupplier;
+
+/**
+ * The JFR events of the recipes, as far as the runtime has JFR.
+ * <p>
+ * This class is all the recipes see of JFR. The events themselves are only loaded if {@code jdk.jfr} is present,
+ * otherwise every method is a no-op.
+ */
+public abstract class RecipeEvents {
+
+    private static final RecipeEvents INSTANCE = load();
+
+    public static RecipeEvents get() {
+        return INSTANCE;
+    }
+
+    /**
+     * A recipe visiting one source file, started now and ended with {@link FileVisit#end(String, String, String, boolean)}.
+     */
+    public abstract FileVisit fileVisit();
+
+    public interface FileVisit {
+        void end(String recipe, String sourcePath, String phase, boolean changed);
+    }
+
+    /**
+     * Applies the template and records how long it took.
+     */
+    public abstract <J2 extends J> J2 applyTemplate(JavaTemplate template, Cursor scope, JavaCoordinates coordinates,
+                                                    Object... parameters);
+
+    /**
+     * A visitor scheduled another visitor to run after it.
+     */
+    public abstract void afterVisit(TreeVisitor<?, ?> visitor, TreeVisitor<?, ?> scheduled);
+
+    /**
+     * An entry was added to the accumulator of a scanning recipe.
+     *
+     * @param symbols only called if the event is recorded
+     */
+    public abstract void accumulatorGrowth(Object accumulator, int entries, IntSupplier symbols);
+
+    private static RecipeEvents load() {
+        try {
+            Class.forName("jdk.jfr.Event", false, RecipeEvents.class.getClassLoader());
+            return (RecipeEvents) Class.forName(RecipeEvents.class.getPackage().getName() + ".JfrRecipeEvents")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new Disabled();
+        }
+    }
+
+    private static class Disabled extends RecipeEvents {
+        private static final FileVisit FILE_VISIT = (recipe, sourcePath, phase, changed) -> {
+        };
+
+        @Override
+        public FileVisit fileVisit() {
+            return FILE_VISIT;
+        }
+
+        @Override
+        public <J2 extends J> J2 applyTemplate(JavaTemplate template, Cursor scope, JavaCoordinates coordinates,
+                                               Object... parameters) {
+            return template.apply(scope, coordinates, parameters);
+        }
+
+        @Override
+        public void afterVisit(TreeVisitor<?, ?> visitor, TreeVisitor<?, ?> scheduled) {
+        }
+
+        @Override
+        public void accumulatorGrowth(Object accumulator, int entries, IntSupplier symbols) {
+        }
+    }
+}
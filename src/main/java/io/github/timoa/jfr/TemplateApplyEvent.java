@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.jfr;
+
+import jdk.jfr.*;
+import org.openrewrite.Cursor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.JavaCoordinates;
+
+/**
+ * One {@link JavaTemplate#apply(Cursor, JavaCoordinates, Object...)}, which compiles a stub on its first use.
+ */
+@Name("io.github.timoa.TemplateApply")
+@Label("Java Template Apply")
+@Category({"OpenRewrite", "Recipes"})
+@Enabled(false)
+@StackTrace(false)
+class TemplateApplyEvent extends Event {
+
+    @Label("Template")
+    public String template;
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * JFR events of the recipes of this library, all disabled by default.
+ * <p>
+ * A disabled event is not committed and costs a constructor call the JIT removes. Enable the events of the
+ * <code>io.github.timoa</code> category in the settings of a recording, e.g. with
+ * <code>jfr configure --input default +io.github.timoa.FileVisit#enabled=true +io.github.timoa.TemplateApply#enabled=true
+ * +io.github.timoa.AfterVisit#enabled=true +io.github.timoa.AccumulatorGrowth#enabled=true --output recipes.jfc</code>
+ * and <code>-XX:StartFlightRecording:settings=recipes.jfc</code>.
+ */
+@NullMarked
+package io.github.timoa.jfr;
+
+import org.jspecify.annotations.NullMarked;
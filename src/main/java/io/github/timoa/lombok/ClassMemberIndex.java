@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+
+import java.util.*;
+
+/**
+ * The facts about the members of a class declaration that the lombok recipes need:
+ * the names taken by methods, the effective getters and setters and the annotations on the fields.
+ * <p>
+ * Only direct members are indexed, nested classes have an index of their own.
+ * The indexes are cached in the execution context, so recipes that see the same class declaration share its index.
+ * A visitor looks the index up once when it enters a class declaration and keeps it in a cursor message on the
+ * declaration.
+ */
+public final class ClassMemberIndex {
+
+    private static final String CACHE_KEY = ClassMemberIndex.class.getName();
+
+    /**
+     * number of class declarations whose index is kept, the least recently used one is evicted first
+     */
+    private static final int CACHE_SIZE = 64;
+
+    /**
+     * the class declaration the index was built from, a changed declaration is a different instance
+     */
+    private final J.ClassDeclaration classDecl;
+
+    private final Set<String> methodNames = new HashSet<>();
+
+    /**
+     * method id -> field returned by the method
+     */
+    private final Map<UUID, JavaType.Variable> getters = new HashMap<>();
+
+    /**
+     * method id -> field assigned by the method
+     */
+    private final Map<UUID, JavaType.Variable> setters = new HashMap<>();
+
+    private final List<Field> fields = new ArrayList<>();
+
+    private ClassMemberIndex(J.ClassDeclaration classDecl) {
+        this.classDecl = classDecl;
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration) {
+                J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                methodNames.add(method.getSimpleName());
+                if (LombokUtils.isEffectivelyGetter(method)) {
+                    J.Return return_ = (J.Return) method.getBody().getStatements().get(0);
+                    getters.put(method.getId(), ((J.Identifier) return_.getExpression()).getFieldType());
+                } else if (LombokUtils.isEffectivelySetter(method)) {
+                    J.Assignment assignment = (J.Assignment) method.getBody().getStatements().get(0);
+                    setters.put(method.getId(), ((J.FieldAccess) assignment.getVariable()).getName().getFieldType());
+                }
+            } else if (statement instanceof J.VariableDeclarations) {
+                fields.add(new Field((J.VariableDeclarations) statement));
+            }
+        }
+    }
+
+    /**
+     * @return the index of the direct members of the class declaration,
+     * cached by the id of the declaration and rebuilt when the declaration has changed since
+     */
+    public static ClassMemberIndex of(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+        Map<UUID, ClassMemberIndex> cache = ctx.computeMessageIfAbsent(CACHE_KEY, k -> Collections.synchronizedMap(
+                new LinkedHashMap<UUID, ClassMemberIndex>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<UUID, ClassMemberIndex> eldest) {
+                        return size() > CACHE_SIZE;
+                    }
+                }));
+        synchronized (cache) {
+            ClassMemberIndex index = cache.get(classDecl.getId());
+            if (index == null || index.classDecl != classDecl) {
+                index = new ClassMemberIndex(classDecl);
+                cache.put(classDecl.getId(), index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * @return the names of all methods declared in the class
+     */
+    public Set<String> getMethodNames() {
+        return Collections.unmodifiableSet(methodNames);
+    }
+
+    /**
+     * @return the field the method returns if it is an effective getter, see {@link LombokUtils#isEffectivelyGetter}
+     */
+    public JavaType.@Nullable Variable getterField(J.MethodDeclaration method) {
+        return getters.get(method.getId());
+    }
+
+    /**
+     * @return the field the method assigns if it is an effective setter, see {@link LombokUtils#isEffectivelySetter}
+     */
+    public JavaType.@Nullable Variable setterField(J.MethodDeclaration method) {
+        return setters.get(method.getId());
+    }
+
+    /**
+     * @param annotation       simple name of the annotation, e.g. `Getter`
+     * @param exemptModifiers  fields with any of these modifiers don't need the annotation
+     * @return true if at least one field carries the annotation without arguments
+     * and so does every field that is not exempt
+     */
+    public boolean allFieldsAnnotated(String annotation, J.Modifier.Type... exemptModifiers) {
+        boolean anyAnnotated = false;
+        for (Field field : fields) {
+            if (field.bareAnnotations.contains(annotation)) {
+                anyAnnotated = true;
+            } else if (!field.hasAnyModifier(exemptModifiers)) {
+                return false;
+            }
+        }
+        return anyAnnotated;
+    }
+
+    private static final class Field {
+
+        /**
+         * simple names of the leading annotations that have no arguments
+         */
+        private final Set<String> bareAnnotations = new HashSet<>();
+
+        private final Set<J.Modifier.Type> modifiers = EnumSet.noneOf(J.Modifier.Type.class);
+
+        private Field(J.VariableDeclarations field) {
+            for (J.Annotation annotation : field.getLeadingAnnotations()) {
+                if (annotation.getArguments() == null) {
+                    bareAnnotations.add(annotation.getSimpleName());
+                }
+            }
+            for (J.Modifier modifier : field.getModifiers()) {
+                modifiers.add(modifier.getType());
+            }
+        }
+
+        private boolean hasAnyModifier(J.Modifier.Type... types) {
+            for (J.Modifier.Type type : types) {
+                if (modifiers.contains(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -15,29 +15,31 @@
  */
 package io.github.timoa.lombok;
 
+import io.github.timoa.metrics.RecipeMetrics;
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.MeasuredJavaIsoVisitor;
+import io.github.timoa.table.VisitStats;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.tree.J;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.StringJoiner;
 
-import static java.util.Comparator.comparing;
 import static org.openrewrite.java.tree.JavaType.*;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class ConvertGetter extends Recipe {
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public String getDisplayName() {
         //language=markdown
@@ -63,100 +65,86 @@ public class ConvertGetter extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new MethodRemover();
+        return performance.measure(new MethodRemover());
     }
 
 
     @Value
     @EqualsAndHashCode(callSuper = false)
-    private static class MethodRemover extends JavaIsoVisitor<ExecutionContext> {
+    private static class MethodRemover extends MeasuredJavaIsoVisitor<ExecutionContext> {
         private static final String FIELDS_TO_DECORATE_KEY = "FIELDS_TO_DECORATE";
+        private static final String MEMBER_INDEX_KEY = "MEMBER_INDEX";
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
 
-            //initialize set of fields to annotate
-            getCursor().putMessage(FIELDS_TO_DECORATE_KEY, new HashSet<Finding>());
+            //initialize index of fields to annotate, keyed by field name
+            getCursor().putMessage(FIELDS_TO_DECORATE_KEY, new HashMap<String, AccessLevel>());
+            getCursor().putMessage(MEMBER_INDEX_KEY, ClassMemberIndex.of(classDecl, ctx));
 
             //delete methods, note down corresponding fields
             J.ClassDeclaration classDeclAfterVisit = super.visitClassDeclaration(classDecl, ctx);
 
             //only thing that can have changed is removal of getter methods
             if (classDeclAfterVisit != classDecl) {
-                //this set collects the fields for which existing methods have already been removed
-                Set<Finding> fieldsToDecorate = getCursor().pollNearestMessage(FIELDS_TO_DECORATE_KEY);
-                doAfterVisit(new FieldAnnotator(fieldsToDecorate));
+                //this map collects the fields for which existing methods have already been removed
+                Map<String, AccessLevel> fieldsToDecorate = getCursor().pollNearestMessage(FIELDS_TO_DECORATE_KEY);
+                return annotateFields(classDeclAfterVisit, fieldsToDecorate);
             }
             return classDeclAfterVisit;
         }
 
-        @Override
-        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
-            assert method.getMethodType() != null;
-
-            if (LombokUtils.isEffectivelyGetter(method)) {
-                J.Return return_ = (J.Return) method.getBody().getStatements().get(0);
-                Variable fieldType = ((J.Identifier) return_.getExpression()).getFieldType();
-                boolean nameMatch = method.getSimpleName().equals(LombokUtils.deriveGetterMethodName(fieldType));
-                if (nameMatch){
-                    ((Set<Finding>) getCursor().getNearestMessage(FIELDS_TO_DECORATE_KEY))
-                            .add(new Finding(fieldType.getName(), LombokUtils.getAccessLevel(method.getModifiers())));
-                    return null; //delete
-                }
-            }
-            return method;
-        }
-    }
-
-    @Value
-    private static class Finding {
-        String fieldName;
-        AccessLevel accessLevel;
-    }
-
-
-    @Value
-    @EqualsAndHashCode(callSuper = false)
-    static class FieldAnnotator extends JavaIsoVisitor<ExecutionContext>{
-
-        Set<Finding> fieldsToDecorate;
+        /**
+         * Annotates the fields for which methods have been removed.
+         * Only direct members of the class body are considered, this happens in place instead of in an after visit
+         * so that every changed class does not cost another traversal of the whole compilation unit.
+         */
+        private J.ClassDeclaration annotateFields(J.ClassDeclaration classDecl, Map<String, AccessLevel> fieldsToDecorate) {
+            J.ClassDeclaration annotated = classDecl.withBody(classDecl.getBody().withStatements(ListUtils.map(
+                    classDecl.getBody().getStatements(),
+                    statement -> statement instanceof J.VariableDeclarations
+                            ? annotateField((J.VariableDeclarations) statement, fieldsToDecorate)
+                            : statement)));
 
-        private JavaTemplate getAnnotation(AccessLevel accessLevel) {
-            JavaTemplate.Builder builder = AccessLevel.PUBLIC.equals(accessLevel)
-                    ? JavaTemplate.builder("@Getter\n")
-                    : JavaTemplate.builder("@Getter(AccessLevel." + accessLevel.name() + ")\n")
-                    .imports("lombok.AccessLevel");
-
-            return builder
-                    .imports("lombok.Getter")
-                    .javaParser(JavaParser.fromJavaVersion()
-                            .classpath("lombok"))
-                    .build();
+            maybeAddImport("lombok.Getter");
+            maybeAddImport("lombok.AccessLevel");
+            return annotated;
         }
 
-        @Override
-        public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
+        private J.VariableDeclarations annotateField(J.VariableDeclarations multiVariable, Map<String, AccessLevel> fieldsToDecorate) {
 
             //we accept only one var decl per line, see description
             if (multiVariable.getVariables().size() > 1) {
                 return multiVariable;
             }
 
-            J.VariableDeclarations.NamedVariable variable = multiVariable.getVariables().get(0);
-            Optional<Finding> field = fieldsToDecorate.stream()
-                    .filter(f -> f.fieldName.equals(variable.getSimpleName()))
-                    .findFirst();
-
-            if (!field.isPresent()) {
+            AccessLevel accessLevel = fieldsToDecorate.get(multiVariable.getVariables().get(0).getSimpleName());
+            if (accessLevel == null) {
                 return multiVariable; //not the field we are looking for
             }
 
-            J.VariableDeclarations annotated = getAnnotation(field.get().getAccessLevel()).apply(
-                    getCursor(),
-                    multiVariable.getCoordinates().addAnnotation(comparing(J.Annotation::getSimpleName)));
-            maybeAddImport("lombok.Getter");
-            maybeAddImport("lombok.AccessLevel");
-            return annotated;
+            RecipeMetrics.increment(RecipeMetrics.Counter.FIELDS_ANNOTATED);
+            return LombokAnnotations.addTo(multiVariable, LombokAnnotations.annotation("lombok.Getter", accessLevel));
+        }
+
+        @Override
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+            assert method.getMethodType() != null;
+
+            ClassMemberIndex index = getCursor().getNearestMessage(MEMBER_INDEX_KEY);
+            Variable fieldType = index == null ? null : index.getterField(method);
+            if (fieldType != null) {
+                VisitStats.match();
+                boolean nameMatch = method.getSimpleName().equals(LombokUtils.deriveGetterMethodName(fieldType));
+                if (nameMatch){
+                    ((Map<String, AccessLevel>) getCursor().getNearestMessage(FIELDS_TO_DECORATE_KEY))
+                            .put(fieldType.getName(), LombokUtils.getAccessLevel(method.getModifiers()));
+                    VisitStats.edit();
+                    RecipeMetrics.increment(RecipeMetrics.Counter.GETTERS_REMOVED);
+                    return null; //delete
+                }
+            }
+            return method;
         }
     }
 }
@@ -15,23 +15,22 @@
  */
 package io.github.timoa.lombok;
 
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.VisitStats;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.tree.J;
 
-import static java.util.Comparator.comparing;
-
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class ConvertNoArgsConstructor extends Recipe {
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public String getDisplayName() {
         //language=markdown
@@ -47,7 +46,7 @@ public class ConvertNoArgsConstructor extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
+        return performance.measure(DeclaresMethodShape.noArgsConstructor(), new MemberVisitor<ExecutionContext>() {
             public static final String FOUND_EMPTY_CONSTRUCTOR = "FOUND_EMPTY_CONSTRUCTOR";
 
 
@@ -66,23 +65,9 @@ public class ConvertNoArgsConstructor extends Recipe {
 
                 AccessLevel accessLevel = LombokUtils.getAccessLevel(message.getModifiers());
 
-                return getAnnotation(accessLevel).apply(
-                        updateCursor(classDeclAfterVisit),
-                        classDeclAfterVisit.getCoordinates().addAnnotation(comparing(J.Annotation::getSimpleName)));
-            }
-
-            private JavaTemplate getAnnotation(AccessLevel accessLevel) {
-
-                JavaTemplate.Builder builder = AccessLevel.PUBLIC.equals(accessLevel)
-                        ? JavaTemplate.builder("@NoArgsConstructor()\n")
-                        : JavaTemplate.builder("@NoArgsConstructor(access = AccessLevel." + accessLevel.name() + ")\n")
-                        .imports("lombok.AccessLevel");
-
-                return builder
-                        .imports("lombok.NoArgsConstructor")
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpath("lombok"))
-                        .build();
+                return LombokAnnotations.addTo(classDeclAfterVisit,
+                        LombokAnnotations.annotationWithAccess("lombok.NoArgsConstructor", accessLevel),
+                        this, ctx, getCursor().getParentOrThrow());
             }
 
             @Override
@@ -93,12 +78,14 @@ public class ConvertNoArgsConstructor extends Recipe {
                         && method.getBody().getStatements().isEmpty()        //does nothing
                 ) {
                     getCursor().putMessageOnFirstEnclosing(J.ClassDeclaration.class, FOUND_EMPTY_CONSTRUCTOR, method);
+                    VisitStats.match();
+                    VisitStats.edit();
                     return null;
                 }
                 return super.visitMethodDeclaration(method, ctx);
             }
 
-        };
+        });
     }
 
 }
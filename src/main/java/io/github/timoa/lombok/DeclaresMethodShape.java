@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.SearchResult;
+
+import java.util.function.Predicate;
+
+/**
+ * A precondition that finds compilation units declaring a method of some shape, in any class including nested and
+ * default package ones.
+ * <p>
+ * Only the declared methods of the types in use are looked at, the tree is not walked. Unlike a {@code MethodMatcher},
+ * the shape does not depend on how the declaring type is named.
+ */
+final class DeclaresMethodShape extends JavaIsoVisitor<ExecutionContext> {
+
+    private final Predicate<JavaType.Method> shape;
+
+    private DeclaresMethodShape(Predicate<JavaType.Method> shape) {
+        this.shape = shape;
+    }
+
+    static DeclaresMethodShape noArgsConstructor() {
+        return new DeclaresMethodShape(method -> method.isConstructor() && method.getParameterTypes().isEmpty());
+    }
+
+    static DeclaresMethodShape equalsOrHashCode() {
+        return new DeclaresMethodShape(method ->
+                "equals".equals(method.getName()) && method.getParameterTypes().size() == 1 &&
+                TypeUtils.isOfClassType(method.getParameterTypes().get(0), "java.lang.Object") ||
+                "hashCode".equals(method.getName()) && method.getParameterTypes().isEmpty());
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+        for (JavaType.Method method : cu.getTypesInUse().getDeclaredMethods()) {
+            if (shape.test(method)) {
+                return SearchResult.found(cu);
+            }
+        }
+        return cu;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.AddImport;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.RemoveImport;
+import org.openrewrite.java.tree.J;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Collects the import additions and removals of a compilation unit and schedules them as one after-visit visitor.
+ * <p>
+ * Each remaining edit still runs its own `AddImport` or `RemoveImport` pass over the compilation unit, in request order.
+ * Compared to calling `maybeAddImport` and `maybeRemoveImport` for every type,
+ * only duplicate edits and removals of types that no import can refer to are skipped.
+ */
+public final class ImportEdits<P> extends JavaIsoVisitor<P> {
+
+    private static final String IMPORT_EDITS = "IMPORT_EDITS";
+
+    /**
+     * fully qualified types, prefixed with `+` to add or `-` to remove their import
+     */
+    private final Set<String> edits = new LinkedHashSet<>();
+
+    private ImportEdits() {
+    }
+
+    /**
+     * @param schedule the `doAfterVisit` of the visitor, only called on first access
+     * @return the import edits of the compilation unit the visitor is currently in,
+     * scheduled to run after the visitor on first access
+     */
+    static <P> ImportEdits<P> of(JavaVisitor<P> visitor, Consumer<TreeVisitor<?, P>> schedule) {
+        Cursor compilationUnit = visitor.getCursor().dropParentUntil(J.CompilationUnit.class::isInstance);
+        ImportEdits<P> importEdits = compilationUnit.getMessage(IMPORT_EDITS);
+        if (importEdits == null) {
+            importEdits = new ImportEdits<>();
+            compilationUnit.putMessage(IMPORT_EDITS, importEdits);
+            schedule.accept(importEdits);
+        }
+        return importEdits;
+    }
+
+    /**
+     * Adds an import for the type if it is referenced, like `maybeAddImport`.
+     */
+    public ImportEdits<P> add(String fullyQualifiedName) {
+        edits.add("+" + fullyQualifiedName);
+        return this;
+    }
+
+    /**
+     * Removes the import of the type if it is no longer referenced, like `maybeRemoveImport`.
+     */
+    public ImportEdits<P> remove(String fullyQualifiedName) {
+        edits.add("-" + fullyQualifiedName);
+        return this;
+    }
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, P p) {
+        J.CompilationUnit c = cu;
+        for (String edit : edits) {
+            String type = edit.substring(1);
+            if (edit.charAt(0) == '+') {
+                c = (J.CompilationUnit) new AddImport<P>(type, null, true).visitNonNull(c, p);
+            } else if (mayBeImported(c, type)) {
+                c = (J.CompilationUnit) new RemoveImport<P>(type).visitNonNull(c, p);
+            }
+        }
+        return c;
+    }
+
+    /**
+     * @return false if no import, be it single type, on demand or static, can refer to the type
+     */
+    private static boolean mayBeImported(J.CompilationUnit cu, String type) {
+        for (J.Import anImport : cu.getImports()) {
+            if (type.startsWith(anImport.getPackageName() + ".") || type.equals(anImport.getTypeName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
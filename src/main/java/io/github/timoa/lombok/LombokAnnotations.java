@@ -0,0 +1,190 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import lombok.AccessLevel;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Comparator.comparing;
+import static org.openrewrite.Tree.randomId;
+
+/**
+ * Builds lombok annotations directly in the LST, fully type attributed from the {@link LombokTypeTable}.
+ * <p>
+ * Unlike applying a `JavaTemplate`, this does not compile a stub for every match.
+ * The annotations are inserted at the position that
+ * `getCoordinates().addAnnotation(comparing(J.Annotation::getSimpleName))` would choose.
+ */
+public final class LombokAnnotations {
+
+    private LombokAnnotations() {
+    }
+
+    /**
+     * @param fullyQualifiedName e.g. `lombok.Getter`
+     * @return the annotation without arguments, e.g. `@Getter`
+     */
+    public static J.Annotation annotation(String fullyQualifiedName) {
+        return build(fullyQualifiedName, null);
+    }
+
+    /**
+     * @param fullyQualifiedName e.g. `lombok.Getter`
+     * @param accessLevel        access level passed as value of the annotation
+     * @return e.g. `@Getter` if the access level is public, `@Getter(AccessLevel.PACKAGE)` otherwise
+     */
+    public static J.Annotation annotation(String fullyQualifiedName, AccessLevel accessLevel) {
+        if (AccessLevel.PUBLIC.equals(accessLevel)) {
+            return annotation(fullyQualifiedName);
+        }
+        return build(fullyQualifiedName, accessLevel(accessLevel));
+    }
+
+    /**
+     * @param fullyQualifiedName e.g. `lombok.NoArgsConstructor`
+     * @param accessLevel        access level passed as `access` argument of the annotation
+     * @return e.g. `@NoArgsConstructor()` if the access level is public,
+     * `@NoArgsConstructor(access = AccessLevel.PACKAGE)` otherwise
+     */
+    public static J.Annotation annotationWithAccess(String fullyQualifiedName, AccessLevel accessLevel) {
+        if (AccessLevel.PUBLIC.equals(accessLevel)) {
+            return build(fullyQualifiedName, new J.Empty(randomId(), Space.EMPTY, Markers.EMPTY));
+        }
+        JavaType.FullyQualified accessLevelType = LombokTypeTable.type("lombok.AccessLevel");
+        J.Assignment access = new J.Assignment(randomId(), Space.EMPTY, Markers.EMPTY,
+                identifier("access", accessLevelType, null),
+                JLeftPadded.<Expression>build(accessLevel(accessLevel).withPrefix(Space.format(" ")))
+                        .withBefore(Space.format(" ")),
+                accessLevelType);
+        return build(fullyQualifiedName, access);
+    }
+
+    /**
+     * Adds the annotation to a class declaration and formats its leading part up to the class name.
+     *
+     * @param parent cursor pointing to the parent of the class declaration
+     */
+    public static <P> J.ClassDeclaration addTo(J.ClassDeclaration classDecl, J.Annotation annotation,
+                                               JavaVisitor<P> visitor, P p, Cursor parent) {
+        J.ClassDeclaration annotated = classDecl.withLeadingAnnotations(ListUtils.insertInOrder(
+                classDecl.getLeadingAnnotations(), annotation, comparing(J.Annotation::getSimpleName)));
+        return visitor.autoFormat(annotated, annotated.getName(), p, parent);
+    }
+
+    /**
+     * Adds the annotation to a field, on a line of its own with the indentation of the field.
+     * <p>
+     * Fields are not auto formatted like classes: `AutoFormatVisitor` detects the line breaks of the whole compilation
+     * unit on every call, so annotating every field of a wide class took time quadratic in the number of fields.
+     */
+    public static J.VariableDeclarations addTo(J.VariableDeclarations field, J.Annotation annotation) {
+        List<J.Annotation> annotations = ListUtils.insertInOrder(
+                field.getLeadingAnnotations(), annotation, comparing(J.Annotation::getSimpleName));
+        int index = annotations.indexOf(annotation);
+        Space lineBreak = lineBreak(field.getPrefix());
+        J.VariableDeclarations annotated = field.withLeadingAnnotations(ListUtils.map(annotations, (i, a) ->
+                i == index ? a.withPrefix(index == 0 ? Space.EMPTY : lineBreak) :
+                        i == index + 1 ? onOwnLine(a, lineBreak) : a));
+
+        //the element following the new annotation starts a line
+        if (index + 1 < annotations.size()) {
+            return annotated;
+        }
+        if (!annotated.getModifiers().isEmpty()) {
+            return annotated.withModifiers(ListUtils.mapFirst(annotated.getModifiers(), m -> onOwnLine(m, lineBreak)));
+        }
+        return annotated.withTypeExpression(onOwnLine(annotated.getTypeExpression(), lineBreak));
+    }
+
+    /**
+     * @return a line break followed by the indentation of the prefix, or a space if the prefix does not start a line
+     */
+    private static Space lineBreak(Space prefix) {
+        String whitespace = prefix.getLastWhitespace();
+        if (!whitespace.contains("\n")) {
+            return Space.SINGLE_SPACE;
+        }
+        return Space.format((whitespace.contains("\r\n") ? "\r\n" : "\n") + prefix.getIndent());
+    }
+
+    private static <J2 extends J> J2 onOwnLine(J2 j, Space lineBreak) {
+        Space prefix = j.getPrefix();
+        return prefix.getWhitespace().contains("\n") ? j : j.withPrefix(prefix.withWhitespace(lineBreak.getWhitespace()));
+    }
+
+    /**
+     * Removes the annotations with the simple name that have no arguments from the field.
+     * If the top annotation is removed, the element following it takes over its prefix, so that no gap remains.
+     */
+    public static J.VariableDeclarations removeFrom(J.VariableDeclarations field, String simpleName) {
+        J.VariableDeclarations removed = field.withLeadingAnnotations(ListUtils.map(field.getLeadingAnnotations(),
+                a -> a.getArguments() == null && a.getSimpleName().equals(simpleName) ? null : a));
+
+        boolean isTopAnnotationRemoved = removed != field
+                && (removed.getLeadingAnnotations().isEmpty()
+                || removed.getLeadingAnnotations().get(0) != field.getLeadingAnnotations().get(0));
+        if (!isTopAnnotationRemoved) {
+            return removed;
+        }
+
+        //the element following the removed annotation takes its place
+        Space prefix = field.getLeadingAnnotations().get(0).getPrefix();
+        if (!removed.getLeadingAnnotations().isEmpty()) {
+            return removed.withLeadingAnnotations(ListUtils.mapFirst(removed.getLeadingAnnotations(), a -> a.withPrefix(prefix)));
+        }
+        if (!removed.getModifiers().isEmpty()) {
+            return removed.withModifiers(ListUtils.mapFirst(removed.getModifiers(), m -> m.withPrefix(prefix)));
+        }
+        return removed.withTypeExpression(removed.getTypeExpression().withPrefix(prefix));
+    }
+
+    private static J.Annotation build(String fullyQualifiedName, @Nullable Expression argument) {
+        JavaType.FullyQualified type = LombokTypeTable.type(fullyQualifiedName);
+        JContainer<Expression> arguments = argument == null
+                ? null
+                : JContainer.build(Space.EMPTY, Collections.singletonList(JRightPadded.build(argument)), Markers.EMPTY);
+        return new J.Annotation(randomId(), Space.EMPTY, Markers.EMPTY,
+                identifier(type.getClassName(), type, null),
+                arguments);
+    }
+
+    /**
+     * @return e.g. `AccessLevel.PACKAGE`
+     */
+    private static J.FieldAccess accessLevel(AccessLevel accessLevel) {
+        JavaType.FullyQualified accessLevelType = LombokTypeTable.type("lombok.AccessLevel");
+        JavaType.Variable constant = accessLevelType.getMembers().stream()
+                .filter(member -> member.getName().equals(accessLevel.name()))
+                .findFirst()
+                .orElse(null);
+        return new J.FieldAccess(randomId(), Space.EMPTY, Markers.EMPTY,
+                identifier(accessLevelType.getClassName(), accessLevelType, null),
+                JLeftPadded.build(identifier(accessLevel.name(), accessLevelType, constant)),
+                accessLevelType);
+    }
+
+    private static J.Identifier identifier(String name, JavaType type, JavaType.@Nullable Variable fieldType) {
+        return new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, Collections.emptyList(), name, type, fieldType);
+    }
+}
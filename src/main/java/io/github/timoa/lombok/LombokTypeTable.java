@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The lombok types that the recipes of this library emit, resolved against the type table of the artifact.
+ * <p>
+ * `META-INF/rewrite/classpath.tsv.zip` holds the class signatures of the lombok jar, generated with
+ * `./mvnw generate-resources -Ptypetable` or `./gradlew createTypeTable`. A single declaration that refers to all
+ * types below is attributed against it once per JVM, no lombok jar needs to be found on the runtime classpath.
+ */
+final class LombokTypeTable {
+
+    static final List<String> NAMES = Arrays.asList(
+            "lombok.AccessLevel",
+            "lombok.Getter",
+            "lombok.Setter",
+            "lombok.Data",
+            "lombok.Value",
+            "lombok.ToString",
+            "lombok.EqualsAndHashCode",
+            "lombok.NoArgsConstructor",
+            "lombok.RequiredArgsConstructor",
+            "lombok.AllArgsConstructor",
+            "lombok.extern.slf4j.Slf4j",
+            "lombok.extern.apachecommons.CommonsLog",
+            "lombok.extern.log4j.Log4j2",
+            "lombok.extern.jbosslog.JBossLog",
+            "lombok.extern.java.Log");
+
+    private LombokTypeTable() {
+    }
+
+    /**
+     * @param fullyQualifiedName e.g. `lombok.Getter`
+     * @return the type as attributed by the parser, a shallow type if it is not part of the table
+     */
+    static JavaType.FullyQualified type(String fullyQualifiedName) {
+        JavaType.FullyQualified type = Types.TYPES.get(fullyQualifiedName);
+        return type != null ? type : JavaType.ShallowClass.build(fullyQualifiedName);
+    }
+
+    /**
+     * Holder so the types are attributed lazily and exactly once.
+     */
+    private static class Types {
+        static final Map<String, JavaType.FullyQualified> TYPES = attribute();
+    }
+
+    private static Map<String, JavaType.FullyQualified> attribute() {
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext();
+        StringBuilder source = new StringBuilder("class LombokTypes {\n");
+        for (int i = 0; i < NAMES.size(); i++) {
+            source.append("    ").append(NAMES.get(i)).append(" t").append(i).append(";\n");
+        }
+        return JavaParser.fromJavaVersion()
+                .classpathFromResources(ctx, "lombok")
+                .build()
+                .parse(ctx, source.append("}").toString())
+                .filter(J.CompilationUnit.class::isInstance)
+                .map(J.CompilationUnit.class::cast)
+                .flatMap(cu -> cu.getClasses().get(0).getBody().getStatements().stream())
+                .map(LombokTypeTable::fieldType)
+                .filter(Objects::nonNull)
+                .filter(type -> !(type instanceof JavaType.Unknown))
+                .collect(Collectors.toMap(JavaType.FullyQualified::getFullyQualifiedName, type -> type));
+    }
+
+    private static JavaType.@Nullable FullyQualified fieldType(Statement statement) {
+        return statement instanceof J.VariableDeclarations ?
+                ((J.VariableDeclarations) statement).getTypeAsFullyQualified() :
+                null;
+    }
+}
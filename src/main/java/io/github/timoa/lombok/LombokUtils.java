@@ -1,6 +1,5 @@
 package io.github.timoa.lombok;
 
-import com.google.common.collect.ImmutableMap;
 import lombok.AccessLevel;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.java.tree.Expression;
@@ -10,11 +9,8 @@ import org.openrewrite.java.tree.Statement;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import static lombok.AccessLevel.*;
-import static org.openrewrite.java.tree.J.Modifier.Type.*;
 
 public class LombokUtils {
 
@@ -30,24 +26,23 @@ public class LombokUtils {
             if (returnExpression instanceof J.Identifier) {
                 J.Identifier identifier = (J.Identifier) returnExpression;
                 JavaType.Variable fieldType = identifier.getFieldType();
-                return method.getType().equals(fieldType.getType()); //type match
+                return fieldType != null && method.getType().equals(fieldType.getType()); //type match
             }
         }
         return false;
     }
 
     public static boolean isEffectivelySetter(J.MethodDeclaration method) {
-        boolean isVoid = "void".equals(method.getType().toString());
-        List<Statement> actualParameters = method.getParameters().stream()
-                .filter(s -> !(s instanceof J.Empty))
-                .collect(Collectors.toList());
-        boolean oneParam = actualParameters.size() == 1;
+        boolean isVoid = JavaType.Primitive.Void.equals(method.getType());
+        //a method without parameters has a single J.Empty as parameter
+        List<Statement> parameters = method.getParameters();
+        boolean oneParam = parameters.size() == 1 && parameters.get(0) instanceof J.VariableDeclarations;
         if (!isVoid || !oneParam)
             return false;
 
-        J.VariableDeclarations variableDeclarations = (J.VariableDeclarations) actualParameters.get(0);
+        J.VariableDeclarations variableDeclarations = (J.VariableDeclarations) parameters.get(0);
         J.VariableDeclarations.NamedVariable param = variableDeclarations.getVariables().get(0);
-        String paramName = param.getName().toString();
+        String paramName = param.getSimpleName();
 
         boolean singularStatement = method.getBody() != null //abstract methods can be null
                 && method.getBody().getStatements().size() == 1 //
@@ -58,11 +53,16 @@ public class LombokUtils {
         }
         J.Assignment assignment = (J.Assignment) method.getBody().getStatements().get(0);
 
+        //the field has to be assigned explicitly, i.e. `this.foo = foo`
+        if (!(assignment.getVariable() instanceof J.FieldAccess)) {
+            return false;
+        }
         J.FieldAccess fieldAccess = (J.FieldAccess) assignment.getVariable();
 
         return
                 // assigned value is exactly the parameter
-                assignment.getAssignment().toString().equals(paramName)
+                assignment.getAssignment() instanceof J.Identifier
+                        && ((J.Identifier) assignment.getAssignment()).getSimpleName().equals(paramName)
 
                         // type of parameter and field have to match
                         && param.getType().equals(fieldAccess.getType());
@@ -74,10 +74,8 @@ public class LombokUtils {
 
         final String fieldName = fieldType.getName();
 
-        boolean alreadyStartsWithIs = fieldName.length() >= 3 && fieldName.substring(0, 3).matches("is[A-Z]");
-
         if (isPrimitiveBoolean)
-            if (alreadyStartsWithIs)
+            if (startsWithIs(fieldName))
                 return fieldName;
             else
                 return "is" + StringUtils.capitalize(fieldName);
@@ -85,21 +83,34 @@ public class LombokUtils {
         return "get" + StringUtils.capitalize(fieldName);
     }
 
+    /**
+     * @return true if the name starts with `is` followed by an upper case letter, like `isFoo`
+     */
+    private static boolean startsWithIs(String fieldName) {
+        if (fieldName.length() < 3 || !fieldName.startsWith("is")) {
+            return false;
+        }
+        char third = fieldName.charAt(2);
+        return third >= 'A' && third <= 'Z';
+    }
+
     public static String deriveSetterMethodName(JavaType.Variable fieldType) {
         return "set" + StringUtils.capitalize(fieldType.getName());
     }
 
     public static AccessLevel getAccessLevel(Collection<J.Modifier> modifiers) {
-        Map<J.Modifier.Type, AccessLevel> map = ImmutableMap.<J.Modifier.Type, AccessLevel>builder()
-                .put(Public, PUBLIC)
-                .put(Protected, PROTECTED)
-                .put(Private, PRIVATE)
-                .build();
-
-        return modifiers.stream()
-                .map(modifier -> map.getOrDefault(modifier.getType(), AccessLevel.NONE))
-                .filter(a -> a != AccessLevel.NONE)
-                .findAny().orElse(AccessLevel.PACKAGE);
+        for (J.Modifier modifier : modifiers) {
+            switch (modifier.getType()) {
+                case Public:
+                    return PUBLIC;
+                case Protected:
+                    return PROTECTED;
+                case Private:
+                    return PRIVATE;
+                default:
+            }
+        }
+        return PACKAGE;
     }
 
 }
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import io.github.timoa.metrics.RecipeMetrics;
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.VisitStats;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+
+import java.util.*;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class Lombokify extends ScanningRecipe<Lombokify.Accumulator> {
+
+    transient RecipePerformance performance = new RecipePerformance(this);
+
+    private static final NormalizeGetter NORMALIZE_GETTER = new NormalizeGetter();
+    private static final NormalizeSetter NORMALIZE_SETTER = new NormalizeSetter();
+
+    /**
+     * simple names of the class level annotations that `@Data` stands for
+     */
+    private static final List<String> DATA_PARTS = Arrays.asList(
+            "Getter", "Setter", "ToString", "EqualsAndHashCode", "RequiredArgsConstructor");
+
+    @Override
+    public String getDisplayName() {
+        //language=markdown
+        return "Replace trivial accessors and constructors with lombok annotations";
+    }
+
+    @Override
+    public String getDescription() {
+        //language=markdown
+        return new StringJoiner("\n")
+                .add("Does what `NormalizeGetter`, `NormalizeSetter`, `ConvertGetter`, `ConvertSetter`, " +
+                     "`ConvertNoArgsConstructor`, `SummarizeGetter`, `SummarizeSetter` and `SummarizeData` do together, in a single cycle.")
+                .add("")
+                .add("Effective getters and setters are renamed to the names lombok gives them, then removed. " +
+                     "Their fields are annotated, unless every field of the class would be annotated, " +
+                     "in which case the class is annotated instead. " +
+                     "If the class ends up with `@Getter`, `@Setter`, `@ToString`, `@EqualsAndHashCode` and `@RequiredArgsConstructor` " +
+                     "they are replaced by `@Data`. Empty constructors without parameters become `@NoArgsConstructor`.")
+                .toString();
+    }
+
+    public static class Accumulator {
+        final NormalizeGetter.MethodAcc getterRenames = new NormalizeGetter.MethodAcc();
+        final NormalizeSetter.MethodAcc setterRenames = new NormalizeSetter.MethodAcc();
+
+        private volatile RenameAccumulator.@Nullable Renames renames;
+
+        /**
+         * @return the getter and setter renames together, merged once after the scanning phase
+         */
+        RenameAccumulator.Renames renames() {
+            RenameAccumulator.Renames r = renames;
+            if (r == null) {
+                synchronized (this) {
+                    r = renames;
+                    if (r == null) {
+                        RenameAccumulator merged = new RenameAccumulator();
+                        merged.merge(getterRenames);
+                        merged.merge(setterRenames);
+                        renames = r = merged.renames();
+                    }
+                }
+            }
+            return r;
+        }
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        TreeVisitor<?, ExecutionContext> getterScanner = NORMALIZE_GETTER.getScanner(acc.getterRenames);
+        TreeVisitor<?, ExecutionContext> setterScanner = NORMALIZE_SETTER.getScanner(acc.setterRenames);
+        return performance.measureScanner(new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                //both scanners stop at method bodies
+                getterScanner.visit(cu, ctx);
+                setterScanner.visit(cu, ctx);
+                return cu;
+            }
+        });
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        MethodRenamer renamer = new MethodRenamer(acc.renames());
+        return performance.measure(new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                Cursor parent = getCursor().getParentOrThrow();
+                J.CompilationUnit renamed = (J.CompilationUnit) renamer.visitNonNull(cu, ctx, parent);
+                return (J.CompilationUnit) new Lombokifier().visitNonNull(renamed, ctx, parent);
+            }
+        });
+    }
+
+    /**
+     * Replaces the accessors and the constructor of every class and emits the most collapsed annotations directly.
+     */
+    private static class Lombokifier extends MemberVisitor<ExecutionContext> {
+
+        @Override
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+            //nested classes first, they are independent of the enclosing class
+            J.ClassDeclaration c = super.visitClassDeclaration(classDecl, ctx);
+
+            ClassMemberIndex index = ClassMemberIndex.of(c, ctx);
+            Set<String> fieldNames = new HashSet<>();
+            for (Statement statement : c.getBody().getStatements()) {
+                if (statement instanceof J.VariableDeclarations && ((J.VariableDeclarations) statement).getVariables().size() == 1) {
+                    fieldNames.add(((J.VariableDeclarations) statement).getVariables().get(0).getSimpleName());
+                }
+            }
+
+            //remove the methods, note down the access levels of the fields they belonged to
+            Map<String, AccessLevel> getters = new HashMap<>();
+            Map<String, AccessLevel> setters = new HashMap<>();
+            AccessLevel[] noArgsConstructor = {null};
+            List<Statement> statements = ListUtils.map(c.getBody().getStatements(), statement -> {
+                if (!(statement instanceof J.MethodDeclaration)) {
+                    return statement;
+                }
+                J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                AccessLevel accessLevel = LombokUtils.getAccessLevel(method.getModifiers());
+                JavaType.Variable getterField = index.getterField(method);
+                if (getterField != null && fieldNames.contains(getterField.getName())
+                        && method.getSimpleName().equals(LombokUtils.deriveGetterMethodName(getterField))
+                        && getters.putIfAbsent(getterField.getName(), accessLevel) == null) {
+                    VisitStats.match();
+                    VisitStats.edit();
+                    RecipeMetrics.increment(RecipeMetrics.Counter.GETTERS_REMOVED);
+                    return null;
+                }
+                JavaType.Variable setterField = index.setterField(method);
+                if (setterField != null && fieldNames.contains(setterField.getName())
+                        && method.getSimpleName().equals(LombokUtils.deriveSetterMethodName(setterField))
+                        && setters.putIfAbsent(setterField.getName(), accessLevel) == null) {
+                    VisitStats.match();
+                    VisitStats.edit();
+                    RecipeMetrics.increment(RecipeMetrics.Counter.SETTERS_REMOVED);
+                    return null;
+                }
+                if (isEmptyNoArgsConstructor(method) && noArgsConstructor[0] == null) {
+                    noArgsConstructor[0] = accessLevel;
+                    VisitStats.match();
+                    VisitStats.edit();
+                    return null;
+                }
+                return statement;
+            });
+
+            boolean classGetter = !hasClassAnnotation(c, "Getter")
+                    && isEveryFieldCovered(statements, "Getter", getters);
+            boolean classSetter = !hasClassAnnotation(c, "Setter")
+                    && isEveryFieldCovered(statements, "Setter", setters, J.Modifier.Type.Final, J.Modifier.Type.Static);
+            boolean data = !hasClassAnnotation(c, "Data");
+            for (String part : DATA_PARTS) {
+                data &= hasClassAnnotation(c, part)
+                        || "Getter".equals(part) && classGetter
+                        || "Setter".equals(part) && classSetter;
+            }
+
+            if (statements == c.getBody().getStatements() && !classGetter && !classSetter && !data) {
+                return c;
+            }
+
+            if (classGetter || classSetter || data) {
+                VisitStats.edit();
+            }
+
+            //annotate or clean up the fields
+            ImportEdits<ExecutionContext> importEdits = importEdits();
+            J.ClassDeclaration result = c.withBody(c.getBody().withStatements(statements));
+            result = result.withBody(result.getBody().withStatements(ListUtils.map(result.getBody().getStatements(), statement -> {
+                if (!(statement instanceof J.VariableDeclarations)) {
+                    return statement;
+                }
+                J.VariableDeclarations field = (J.VariableDeclarations) statement;
+                field = annotateField(field, "lombok.Getter", classGetter, getters, importEdits);
+                return annotateField(field, "lombok.Setter", classSetter, setters, importEdits);
+            })));
+
+            //annotate the class
+            Cursor parent = getCursor().getParentOrThrow();
+            if (data) {
+                result = result.withLeadingAnnotations(ListUtils.map(result.getLeadingAnnotations(),
+                        a -> a.getArguments() == null && DATA_PARTS.contains(a.getSimpleName()) ? null : a));
+                result = LombokAnnotations.addTo(result, LombokAnnotations.annotation("lombok.Data"), this, ctx, parent);
+                for (String part : DATA_PARTS) {
+                    importEdits.remove("lombok." + part);
+                }
+                importEdits.add("lombok.Data");
+            } else {
+                if (classGetter) {
+                    result = LombokAnnotations.addTo(result, LombokAnnotations.annotation("lombok.Getter"), this, ctx, parent);
+                    importEdits.add("lombok.Getter");
+                }
+                if (classSetter) {
+                    result = LombokAnnotations.addTo(result, LombokAnnotations.annotation("lombok.Setter"), this, ctx, parent);
+                    importEdits.add("lombok.Setter");
+                }
+            }
+            if (noArgsConstructor[0] != null) {
+                result = LombokAnnotations.addTo(result,
+                        LombokAnnotations.annotationWithAccess("lombok.NoArgsConstructor", noArgsConstructor[0]),
+                        this, ctx, parent);
+                importEdits.add("lombok.NoArgsConstructor");
+            }
+            importEdits.add("lombok.AccessLevel");
+            return result;
+        }
+
+        /**
+         * Removes the field annotation if the class is annotated instead,
+         * otherwise annotates the field if its accessor was removed.
+         */
+        private J.VariableDeclarations annotateField(J.VariableDeclarations field, String annotation,
+                                                     boolean onClass, Map<String, AccessLevel> removedAccessors,
+                                                     ImportEdits<ExecutionContext> importEdits) {
+            String simpleName = annotation.substring(annotation.lastIndexOf('.') + 1);
+            if (onClass) {
+                return LombokAnnotations.removeFrom(field, simpleName);
+            }
+            if (field.getVariables().size() != 1) {
+                return field;
+            }
+            AccessLevel accessLevel = removedAccessors.get(field.getVariables().get(0).getSimpleName());
+            if (accessLevel == null) {
+                return field;
+            }
+            importEdits.add(annotation);
+            RecipeMetrics.increment(RecipeMetrics.Counter.FIELDS_ANNOTATED);
+            return LombokAnnotations.addTo(field, LombokAnnotations.annotation(annotation, accessLevel));
+        }
+
+        /**
+         * @return true if every field that is not exempt carries the annotation without arguments
+         * or had its accessor with public access removed, and at least one field does
+         */
+        private static boolean isEveryFieldCovered(List<Statement> statements, String annotation,
+                                                   Map<String, AccessLevel> removedAccessors,
+                                                   J.Modifier.Type... exemptModifiers) {
+            boolean anyCovered = false;
+            for (Statement statement : statements) {
+                if (!(statement instanceof J.VariableDeclarations)) {
+                    continue;
+                }
+                J.VariableDeclarations field = (J.VariableDeclarations) statement;
+                boolean covered = hasBareAnnotation(field.getLeadingAnnotations(), annotation)
+                        || field.getVariables().size() == 1
+                        && removedAccessors.get(field.getVariables().get(0).getSimpleName()) == AccessLevel.PUBLIC;
+                if (covered) {
+                    anyCovered = true;
+                } else if (Arrays.stream(exemptModifiers).noneMatch(field::hasModifier)) {
+                    return false;
+                }
+            }
+            return anyCovered;
+        }
+
+        private static boolean hasClassAnnotation(J.ClassDeclaration classDecl, String annotation) {
+            return hasBareAnnotation(classDecl.getLeadingAnnotations(), annotation);
+        }
+
+        private static boolean hasBareAnnotation(List<J.Annotation> annotations, String simpleName) {
+            for (J.Annotation annotation : annotations) {
+                if (annotation.getArguments() == null && annotation.getSimpleName().equals(simpleName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isEmptyNoArgsConstructor(J.MethodDeclaration method) {
+            return method.isConstructor()
+                    && method.getParameters().get(0) instanceof J.Empty
+                    && method.getBody() != null
+                    && method.getBody().getStatements().isEmpty();
+        }
+    }
+}
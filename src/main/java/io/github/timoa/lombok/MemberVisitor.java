@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import io.github.timoa.table.MeasuredJavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+
+/**
+ * Visits the structure of classes only: their annotations, fields, method signatures and nested classes.
+ * <p>
+ * Method bodies, initializer blocks, lambdas, anonymous classes and field initializers are not descended into.
+ * A visitor that needs to look at a body, like {@link LombokUtils#isEffectivelyGetter(J.MethodDeclaration)},
+ * reads it directly from the declaration.
+ */
+public abstract class MemberVisitor<P> extends MeasuredJavaIsoVisitor<P> {
+
+    /**
+     * @return the import edits of the compilation unit, applied after this visitor
+     */
+    protected ImportEdits<P> importEdits() {
+        return ImportEdits.of(this, this::doAfterVisit);
+    }
+
+    @Override
+    public J.Block visitBlock(J.Block block, P p) {
+        //only class bodies declare members
+        return getCursor().getParentTreeCursor().getValue() instanceof J.ClassDeclaration
+                ? super.visitBlock(block, p)
+                : block;
+    }
+
+    @Override
+    public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, P p) {
+        return variable;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import io.github.timoa.metrics.RecipeMetrics;
+import io.github.timoa.table.MeasuredJavaIsoVisitor;
+import io.github.timoa.table.VisitStats;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.internal.TypesInUse;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+/**
+ * Applies any number of method renames in a single traversal.
+ * <p>
+ * Renames are looked up by declaring type and signature, overrides of a renamed method are renamed as well.
+ * Compilation units that neither declare nor use a renamed method are skipped without being traversed.
+ */
+@RequiredArgsConstructor
+class MethodRenamer extends MeasuredJavaIsoVisitor<ExecutionContext> {
+
+    private final RenameAccumulator.Renames renames;
+
+    @Override
+    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+        if (renames.isEmpty() || !referencesRenamedMethod(cu.getTypesInUse())) {
+            return cu;
+        }
+        return super.visitCompilationUnit(cu, ctx);
+    }
+
+    private boolean referencesRenamedMethod(TypesInUse typesInUse) {
+        return typesInUse.getDeclaredMethods().stream().anyMatch(m -> newName(m) != null)
+                || typesInUse.getUsedMethods().stream().anyMatch(m -> newName(m) != null);
+    }
+
+    @Override
+    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+        J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+        JavaType.Method type = m.getMethodType();
+        String newName = newName(type);
+        if (type != null && newName != null) {
+            VisitStats.match();
+            VisitStats.edit();
+            RecipeMetrics.increment(RecipeMetrics.Counter.RENAMES_APPLIED);
+            type = type.withName(newName);
+            m = m.withName(m.getName().withSimpleName(newName).withType(type)).withMethodType(type);
+        }
+        return m;
+    }
+
+    @Override
+    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+        J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+        JavaType.Method type = m.getMethodType();
+        String newName = newName(type);
+        if (type != null && newName != null) {
+            VisitStats.match();
+            VisitStats.edit();
+            RecipeMetrics.increment(RecipeMetrics.Counter.RENAMES_APPLIED);
+            type = type.withName(newName);
+            m = m.withName(m.getName().withSimpleName(newName).withType(type)).withMethodType(type);
+        }
+        return m;
+    }
+
+    @Override
+    public J.MemberReference visitMemberReference(J.MemberReference memberRef, ExecutionContext ctx) {
+        J.MemberReference m = super.visitMemberReference(memberRef, ctx);
+        JavaType.Method type = m.getMethodType();
+        String newName = newName(type);
+        if (type != null && newName != null) {
+            VisitStats.match();
+            VisitStats.edit();
+            RecipeMetrics.increment(RecipeMetrics.Counter.RENAMES_APPLIED);
+            type = type.withName(newName);
+            m = m.withReference(m.getReference().withSimpleName(newName)).withMethodType(type);
+        }
+        return m;
+    }
+
+    private @Nullable String newName(JavaType.@Nullable Method method) {
+        if (method == null) {
+            return null;
+        }
+        long signature = renames.signature(method.getName(), method.getParameterTypes());
+        return signature == -1 ? null : newName(method.getDeclaringType(), signature);
+    }
+
+    /**
+     * Looks up the rename for the signature in the type itself and then in its supertypes,
+     * so that overrides are renamed together with the method they override.
+     */
+    private @Nullable String newName(JavaType.@Nullable FullyQualified type, long signature) {
+        if (type == null) {
+            return null;
+        }
+        String newName = renames.newName(type.getFullyQualifiedName().replace('$', '.'), signature);
+        if (newName != null) {
+            return newName;
+        }
+        newName = newName(type.getSupertype(), signature);
+        if (newName != null) {
+            return newName;
+        }
+        for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+            newName = newName(anInterface, signature);
+            if (newName != null) {
+                return newName;
+            }
+        }
+        return null;
+    }
+}
@@ -15,23 +15,22 @@
  */
 package io.github.timoa.lombok;
 
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.VisitStats;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.tree.J;
 
-import static java.util.Comparator.comparing;
-
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class NegligentlyConvertEquals extends Recipe {
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public String getDisplayName() {
         //language=markdown
@@ -50,17 +49,24 @@ public class NegligentlyConvertEquals extends Recipe {
                 "Users are advised to run it only in isolation.";
     }
 
+    /**
+     * Holder so the method patterns are only parsed once the recipe runs, not when it is instantiated.
+     */
+    private static class Matchers {
+        static final MethodMatcher EQUALS = new MethodMatcher("* equals(Object)");
+        static final MethodMatcher HASH_CODE = new MethodMatcher("* hashCode()");
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new Converter();
+        return performance.measure(
+                DeclaresMethodShape.equalsOrHashCode(),
+                new Converter());
     }
 
     @Value
     @EqualsAndHashCode(callSuper = false)
-    private static class Converter extends JavaIsoVisitor<ExecutionContext> {
-
-        MethodMatcher equalsMatcher = new MethodMatcher("* equals(Object)");
-        MethodMatcher hashCodeMatcher = new MethodMatcher("* hashCode()");
+    private static class Converter extends MemberVisitor<ExecutionContext> {
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
@@ -73,14 +79,8 @@ public class NegligentlyConvertEquals extends Recipe {
                 maybeAddImport("lombok.EqualsAndHashCode");
 
                 //Add annotation
-                JavaTemplate template = JavaTemplate.builder("@EqualsAndHashCode\n")
-                        .imports("lombok.EqualsAndHashCode")
-                        .javaParser(JavaParser.fromJavaVersion().classpath("lombok"))
-                        .build();
-
-                return template.apply(
-                        updateCursor(classDeclAfterVisit),
-                        classDeclAfterVisit.getCoordinates().addAnnotation(comparing(J.Annotation::getSimpleName)));
+                return LombokAnnotations.addTo(classDeclAfterVisit, LombokAnnotations.annotation("lombok.EqualsAndHashCode"),
+                        this, ctx, getCursor().getParentOrThrow());
             }
             return classDecl;
         }
@@ -91,7 +91,9 @@ public class NegligentlyConvertEquals extends Recipe {
             J.ClassDeclaration classDecl = getCursor().firstEnclosingOrThrow(J.ClassDeclaration.class);
 
             // The enclosing class of a J.MethodDeclaration must be known for a MethodMatcher to match it
-            if (equalsMatcher.matches(method, classDecl) || hashCodeMatcher.matches(method, classDecl)) {
+            if (Matchers.EQUALS.matches(method, classDecl) || Matchers.HASH_CODE.matches(method, classDecl)) {
+                VisitStats.match();
+                VisitStats.edit();
                 return null;
             } else {
                 return method;
@@ -15,21 +15,24 @@
  */
 package io.github.timoa.lombok;
 
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.SkipReason;
+import io.github.timoa.table.VisitStats;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
-import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.*;
 import org.openrewrite.java.tree.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class NormalizeGetter extends ScanningRecipe<NormalizeGetter.MethodAcc> {
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public String getDisplayName() {
         //language=markdown
@@ -51,8 +54,7 @@ public class NormalizeGetter extends ScanningRecipe<NormalizeGetter.MethodAcc> {
                 .toString();
     }
 
-    public static class MethodAcc  {
-        List<RenameRecord> renameRecords = new ArrayList<>();
+    public static class MethodAcc extends RenameAccumulator {
     }
 
     @Override
@@ -62,32 +64,23 @@ public class NormalizeGetter extends ScanningRecipe<NormalizeGetter.MethodAcc> {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getScanner(MethodAcc acc) {
-        return new MethodRecorder(acc);
-    }
-
-    @Value
-    private static class RenameRecord {
-        String pathToClass_;
-        String methodName_;
-        String newMethodName_;
+        return performance.measureScanner(new MethodRecorder(acc));
     }
 
-
     @RequiredArgsConstructor
-    private static class MethodRecorder extends JavaIsoVisitor<ExecutionContext> {
+    private static class MethodRecorder extends MemberVisitor<ExecutionContext> {
 
         private final static String METHOD_BLACKLIST = "METHOD_BLACKLIST";
+        private final static String MEMBER_INDEX = "MEMBER_INDEX";
 
         private final MethodAcc acc;
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
 
-            List<String> blackList = classDecl.getBody().getStatements().stream()
-                    .filter(s -> s instanceof J.MethodDeclaration)
-                    .map(s -> (J.MethodDeclaration) s)
-                    .map(J.MethodDeclaration::getSimpleName)
-                    .collect(Collectors.toList());
+            ClassMemberIndex index = ClassMemberIndex.of(classDecl, ctx);
+            getCursor().putMessage(MEMBER_INDEX, index);
+            Set<String> blackList = new HashSet<>(index.getMethodNames());
 
             getCursor().putMessage(METHOD_BLACKLIST, blackList);
 
@@ -100,7 +93,9 @@ public class NormalizeGetter extends ScanningRecipe<NormalizeGetter.MethodAcc> {
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
             assert method.getMethodType() != null;
 
-            if (!LombokUtils.isEffectivelyGetter(method)) {
+            ClassMemberIndex index = getCursor().getNearestMessage(MEMBER_INDEX);
+            JavaType.Variable fieldType = index == null ? null : index.getterField(method);
+            if (fieldType == null) {
                 return method;
             }
 
@@ -111,9 +106,6 @@ public class NormalizeGetter extends ScanningRecipe<NormalizeGetter.MethodAcc> {
                 return method;
             }
 
-            J.Return return_ = (J.Return) method.getBody().getStatements().get(0);
-            JavaType.Variable fieldType = ((J.Identifier) return_.getExpression()).getFieldType();
-
             String expectedMethodName = LombokUtils.deriveGetterMethodName(fieldType);
             String actualMethodName = method.getSimpleName();
 
@@ -121,11 +113,13 @@ public class NormalizeGetter extends ScanningRecipe<NormalizeGetter.MethodAcc> {
             if (expectedMethodName.equals(actualMethodName)) {
                 return method;
             }
+            VisitStats.match();
 
             //If the desired method name is already taken by an existing method, the current method cannot be renamed
-            List<String> blackList = getCursor().getNearestMessage(METHOD_BLACKLIST);
+            Set<String> blackList = getCursor().getNearestMessage(METHOD_BLACKLIST);
             assert blackList != null;
             if (blackList.contains(expectedMethodName)) {
+                VisitStats.skipped(SkipReason.BLACKLISTED_RENAME);
                 return method;
             }
             //WON'T DO: there is a rare edge case, that is not addressed yet.
@@ -136,13 +130,8 @@ public class NormalizeGetter extends ScanningRecipe<NormalizeGetter.MethodAcc> {
 
             String pathToClass = method.getMethodType().getDeclaringType().getFullyQualifiedName().replace('$', '.');
             //todo write separate recipe for merging effective getters
-            acc.renameRecords.add(
-                    new RenameRecord(
-                            pathToClass,
-                            actualMethodName,
-                            expectedMethodName
-                    )
-            );
+            acc.add(pathToClass, actualMethodName, "", expectedMethodName);
+            VisitStats.edit();
             blackList.remove(actualMethodName);//actual method name becomes available again
             blackList.add(expectedMethodName);//expected method name now blocked
             return method;
@@ -151,19 +140,6 @@ public class NormalizeGetter extends ScanningRecipe<NormalizeGetter.MethodAcc> {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor(MethodAcc acc) {
-
-        return new TreeVisitor<Tree, ExecutionContext>() {
-
-            @Override
-            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-
-                for (RenameRecord rr : acc.renameRecords) {
-                    String methodPattern = String.format("%s %s()", rr.pathToClass_, rr.methodName_);
-                    tree = new ChangeMethodName(methodPattern, rr.newMethodName_, true, null)
-                            .getVisitor().visit(tree, ctx);
-                }
-                return tree;
-            }
-        };
+        return performance.measure(new MethodRenamer(acc.renames()));
     }
 }
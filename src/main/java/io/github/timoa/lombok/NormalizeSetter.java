@@ -15,28 +15,28 @@
  */
 package io.github.timoa.lombok;
 
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.SkipReason;
+import io.github.timoa.table.VisitStats;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
-import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.ScanningRecipe;
-import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.ChangeMethodName;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.StringJoiner;
-import java.util.stream.Collectors;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class NormalizeSetter extends ScanningRecipe<NormalizeSetter.MethodAcc> {
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public String getDisplayName() {
         //language=markdown
@@ -58,8 +58,7 @@ public class NormalizeSetter extends ScanningRecipe<NormalizeSetter.MethodAcc> {
                 .toString();
     }
 
-    public static class MethodAcc  {
-        List<RenameRecord> renameRecords = new ArrayList<>();
+    public static class MethodAcc extends RenameAccumulator {
     }
 
     @Override
@@ -69,33 +68,23 @@ public class NormalizeSetter extends ScanningRecipe<NormalizeSetter.MethodAcc> {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getScanner(MethodAcc acc) {
-        return new MethodRecorder(acc);
-    }
-
-    @Value
-    private static class RenameRecord {
-        String pathToClass_;
-        String methodName_;
-        String parameterType_;
-        String newMethodName_;
+        return performance.measureScanner(new MethodRecorder(acc));
     }
 
-
     @RequiredArgsConstructor
-    private static class MethodRecorder extends JavaIsoVisitor<ExecutionContext> {
+    private static class MethodRecorder extends MemberVisitor<ExecutionContext> {
 
         private final static String METHOD_BLACKLIST = "METHOD_BLACKLIST";
+        private final static String MEMBER_INDEX = "MEMBER_INDEX";
 
         private final MethodAcc acc;
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
 
-            List<String> blackList = classDecl.getBody().getStatements().stream()
-                    .filter(s -> s instanceof J.MethodDeclaration)
-                    .map(s -> (J.MethodDeclaration) s)
-                    .map(J.MethodDeclaration::getSimpleName)
-                    .collect(Collectors.toList());
+            ClassMemberIndex index = ClassMemberIndex.of(classDecl, ctx);
+            getCursor().putMessage(MEMBER_INDEX, index);
+            Set<String> blackList = new HashSet<>(index.getMethodNames());
 
             getCursor().putMessage(METHOD_BLACKLIST, blackList);
 
@@ -108,7 +97,9 @@ public class NormalizeSetter extends ScanningRecipe<NormalizeSetter.MethodAcc> {
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
             assert method.getMethodType() != null;
 
-            if (!LombokUtils.isEffectivelySetter(method)) {
+            ClassMemberIndex index = getCursor().getNearestMessage(MEMBER_INDEX);
+            JavaType.Variable fieldType = index == null ? null : index.setterField(method);
+            if (fieldType == null) {
                 return method;
             }
 
@@ -119,10 +110,6 @@ public class NormalizeSetter extends ScanningRecipe<NormalizeSetter.MethodAcc> {
                 return method;
             }
 
-            J.Assignment assignment_ = (J.Assignment) method.getBody().getStatements().get(0);
-            J.FieldAccess fieldAccess = (J.FieldAccess) assignment_.getVariable();
-            JavaType.Variable fieldType = fieldAccess.getName().getFieldType();
-
             String expectedMethodName = LombokUtils.deriveSetterMethodName(fieldType);
             String parameterType =  fieldType.getType().toString();
             String actualMethodName = method.getSimpleName();
@@ -131,11 +118,13 @@ public class NormalizeSetter extends ScanningRecipe<NormalizeSetter.MethodAcc> {
             if (expectedMethodName.equals(actualMethodName)) {
                 return method;
             }
+            VisitStats.match();
 
             //If the desired method name is already taken by an existing method, the current method cannot be renamed
-            List<String> blackList = getCursor().getNearestMessage(METHOD_BLACKLIST);
+            Set<String> blackList = getCursor().getNearestMessage(METHOD_BLACKLIST);
             assert blackList != null;
             if (blackList.contains(expectedMethodName)) {
+                VisitStats.skipped(SkipReason.BLACKLISTED_RENAME);
                 return method;
             }
             //WON'T DO: there is a rare edge case, that is not addressed yet.
@@ -146,14 +135,8 @@ public class NormalizeSetter extends ScanningRecipe<NormalizeSetter.MethodAcc> {
 
             String pathToClass = method.getMethodType().getDeclaringType().getFullyQualifiedName().replace('$', '.');
             //todo write separate recipe for merging effective setters
-            acc.renameRecords.add(
-                    new RenameRecord(
-                            pathToClass,
-                            actualMethodName,
-                            parameterType,
-                            expectedMethodName
-                    )
-            );
+            acc.add(pathToClass, actualMethodName, parameterType, expectedMethodName);
+            VisitStats.edit();
             blackList.remove(actualMethodName);//actual method name becomes available again
             blackList.add(expectedMethodName);//expected method name now blocked
             return method;
@@ -162,19 +145,6 @@ public class NormalizeSetter extends ScanningRecipe<NormalizeSetter.MethodAcc> {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor(MethodAcc acc) {
-
-        return new TreeVisitor<Tree, ExecutionContext>() {
-
-            @Override
-            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-
-                for (RenameRecord rr : acc.renameRecords) {
-                    String methodPattern = String.format("%s %s(%s)", rr.pathToClass_, rr.methodName_, rr.parameterType_);
-                    tree = new ChangeMethodName(methodPattern, rr.newMethodName_, true, null)
-                            .getVisitor().visit(tree, ctx);
-                }
-                return tree;
-            }
-        };
+        return performance.measure(new MethodRenamer(acc.renames()));
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import io.github.timoa.jfr.RecipeEvents;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the method renames found during the scanning phase of {@link NormalizeGetter} and {@link NormalizeSetter}.
+ * <p>
+ * Type names, method names and parameter types are interned into symbol ids, a rename is stored as four ids.
+ * The accumulator can be filled from several threads, and accumulators that were filled from different partitions
+ * of the source set can be combined with {@link #merge(RenameAccumulator)}.
+ * <p>
+ * The first call to {@link #renames()} freezes the accumulator, the scanning phase is over by then.
+ */
+public class RenameAccumulator {
+
+    private final Map<String, Integer> symbolIds = new ConcurrentHashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+
+    /**
+     * Every element holds the symbol ids of declaring type, method name, parameter types and new method name.
+     */
+    private final Queue<int[]> renameRecords = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile @Nullable Renames renames;
+
+    /**
+     * @param pathToClass    fully qualified name of the declaring type, with `.` separating nested classes
+     * @param methodName     current name of the method
+     * @param parameterTypes comma separated parameter types, empty for methods without parameters
+     * @param newMethodName  name the method is to be renamed to
+     */
+    public void add(String pathToClass, String methodName, String parameterTypes, String newMethodName) {
+        if (renames != null) {
+            throw new IllegalStateException("Renames cannot be added after the scanning phase");
+        }
+        renameRecords.add(new int[]{
+                intern(pathToClass),
+                intern(methodName),
+                intern(parameterTypes),
+                intern(newMethodName)});
+        int entries = size.incrementAndGet();
+        RecipeEvents.get().accumulatorGrowth(this, entries, () -> {
+            synchronized (symbols) {
+                return symbols.size();
+            }
+        });
+    }
+
+    /**
+     * Adds all renames of the other accumulator to this one.
+     */
+    public void merge(RenameAccumulator other) {
+        for (int[] record : other.renameRecords) {
+            add(other.symbol(record[0]), other.symbol(record[1]), other.symbol(record[2]), other.symbol(record[3]));
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return the renames indexed by the symbol ids of declaring type and signature, built once
+     */
+    Renames renames() {
+        Renames r = renames;
+        if (r == null) {
+            synchronized (this) {
+                r = renames;
+                if (r == null) {
+                    renames = r = new Renames();
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * The frozen renames of the accumulator. Lookups go through the symbol ids, so a method whose name or parameter
+     * types never occurred during the scan is rejected by a single hash lookup.
+     */
+    final class Renames {
+
+        /**
+         * declaring type id -> {@link #signature(String, String)} -> new method name
+         */
+        private final Map<Integer, Map<Long, String>> byType = new HashMap<>();
+
+        private Renames() {
+            for (int[] record : renameRecords) {
+                byType.computeIfAbsent(record[0], k -> new HashMap<>())
+                        .putIfAbsent(signature(record[1], record[2]), symbol(record[3]));
+            }
+        }
+
+        boolean isEmpty() {
+            return byType.isEmpty();
+        }
+
+        /**
+         * @return the key of the signature, or -1 if no rename has this method name and these parameter types
+         */
+        long signature(String methodName, String parameterTypes) {
+            Integer name = symbolIds.get(methodName);
+            Integer parameters = name == null ? null : symbolIds.get(parameterTypes);
+            return parameters == null ? -1 : signature(name, parameters);
+        }
+
+        /**
+         * Like {@link #signature(String, String)}, the parameter types are only joined if the method name is known.
+         */
+        long signature(String methodName, List<JavaType> parameterTypes) {
+            if (!symbolIds.containsKey(methodName)) {
+                return -1;
+            }
+            return signature(methodName, parameterTypes.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+
+        /**
+         * @param pathToClass fully qualified name of the declaring type, with `.` separating nested classes
+         * @param signature   the key from {@link #signature(String, String)}
+         */
+        @Nullable
+        String newName(String pathToClass, long signature) {
+            Integer type = symbolIds.get(pathToClass);
+            Map<Long, String> renamesOfType = type == null ? null : byType.get(type);
+            return renamesOfType == null ? null : renamesOfType.get(signature);
+        }
+
+        /**
+         * @return the new name of the method, null if it is not renamed
+         */
+        @Nullable
+        String newName(String pathToClass, String methodName, String parameterTypes) {
+            long signature = signature(methodName, parameterTypes);
+            return signature == -1 ? null : newName(pathToClass, signature);
+        }
+
+        private long signature(int methodName, int parameterTypes) {
+            return (long) methodName << 32 | parameterTypes;
+        }
+    }
+
+    private int intern(String symbol) {
+        Integer id = symbolIds.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        synchronized (symbols) {
+            return symbolIds.computeIfAbsent(symbol, s -> {
+                symbols.add(s);
+                return symbols.size() - 1;
+            });
+        }
+    }
+
+    private String symbol(int id) {
+        synchronized (symbols) {
+            return symbols.get(id);
+        }
+    }
+}
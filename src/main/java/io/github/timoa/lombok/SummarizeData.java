@@ -15,25 +15,26 @@
  */
 package io.github.timoa.lombok;
 
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.VisitStats;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.J;
 
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static java.util.Comparator.comparing;
-
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class SummarizeData extends Recipe {
+
+    transient RecipePerformance performance = new RecipePerformance(this);
     @Override
     public String getDisplayName() {
         return "Summarize class annotations into @Data";
@@ -46,12 +47,19 @@ public class SummarizeData extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new SummarizeData.Summarizer();
+        return performance.measure(
+                Preconditions.and(
+                        new UsesType<>("lombok.ToString", false),
+                        new UsesType<>("lombok.EqualsAndHashCode", false),
+                        new UsesType<>("lombok.Getter", false),
+                        new UsesType<>("lombok.Setter", false),
+                        new UsesType<>("lombok.RequiredArgsConstructor", false)),
+                new SummarizeData.Summarizer());
     }
 
     @Value
     @EqualsAndHashCode(callSuper = false)
-    private static class Summarizer extends JavaIsoVisitor<ExecutionContext> {
+    private static class Summarizer extends MemberVisitor<ExecutionContext> {
 
         Set<String> needed = Stream
                 .of(
@@ -71,23 +79,19 @@ public class SummarizeData extends Recipe {
             if (visited != classDecl &&
                     //since duplicate annotations are not allowed, we expect exactly as many annotations removed as needed
                     annotationsRemoved == needed.size() ) {
-
-                maybeRemoveImport("lombok.ToString");
-                maybeRemoveImport("lombok.EqualsAndHashCode");
-                maybeRemoveImport("lombok.Getter");
-                maybeRemoveImport("lombok.Setter");
-                maybeRemoveImport("lombok.RequiredArgsConstructor");
-                maybeAddImport("lombok.Data");
-
-
-                JavaTemplate template = JavaTemplate.builder("@Data\n")
-                        .imports("lombok.Data")
-                        .javaParser(JavaParser.fromJavaVersion().classpath("lombok"))
-                        .build();
-
-                return template.apply(
-                        updateCursor(visited),
-                        visited.getCoordinates().addAnnotation(comparing(J.Annotation::getSimpleName)));
+                VisitStats.match();
+                VisitStats.edit();
+
+                importEdits()
+                        .remove("lombok.ToString")
+                        .remove("lombok.EqualsAndHashCode")
+                        .remove("lombok.Getter")
+                        .remove("lombok.Setter")
+                        .remove("lombok.RequiredArgsConstructor")
+                        .add("lombok.Data");
+
+                return LombokAnnotations.addTo(visited, LombokAnnotations.annotation("lombok.Data"),
+                        this, ctx, getCursor().getParentOrThrow());
 
             }
 
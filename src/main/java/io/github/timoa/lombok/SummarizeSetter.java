@@ -15,22 +15,22 @@
  */
 package io.github.timoa.lombok;
 
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.VisitStats;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.J;
 
-import static java.util.Comparator.comparing;
-
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class SummarizeSetter extends Recipe {
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public String getDisplayName() {
         //language=markdown
@@ -45,90 +45,44 @@ public class SummarizeSetter extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new Summarizer();
+        return performance.measure(new UsesType<>("lombok.Setter", false), new Summarizer());
     }
 
 
     @Value
     @EqualsAndHashCode(callSuper = false)
-    private static class Summarizer extends JavaIsoVisitor<ExecutionContext> {
-        private static final String ALL_FIELDS_DECORATED_ACC = "ALL_FIELDS_DECORATED_ACC";
+    private static class Summarizer extends MemberVisitor<ExecutionContext> {
+        private static final String SUMMARIZE = "SUMMARIZE";
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
 
-            //initialize variable to store if all encountered fields have setters
-            getCursor().putMessage(ALL_FIELDS_DECORATED_ACC, true);
+            //final fields and static field don't need to have an annotation
+            boolean allFieldsAnnotated = ClassMemberIndex.of(classDecl, ctx).allFieldsAnnotated("Setter", J.Modifier.Type.Final, J.Modifier.Type.Static);
+            getCursor().putMessage(SUMMARIZE, allFieldsAnnotated);
 
-            //delete methods, note down corresponding fields
+            //remove the field annotations, nested classes are summarized on their own
             J.ClassDeclaration classDeclAfterVisit = super.visitClassDeclaration(classDecl, ctx);
 
-            boolean allFieldsAnnotated = getCursor().pollNearestMessage(ALL_FIELDS_DECORATED_ACC);
-
-            //only thing that can have changed is removal of setter methods
-            //and something needs to have changed before we add an annotation at class level
-            if (classDeclAfterVisit != classDecl && allFieldsAnnotated) {
+            if (allFieldsAnnotated) {
+                VisitStats.match();
+                VisitStats.edit();
                 //Add annotation
-                JavaTemplate template = JavaTemplate.builder("@Setter\n")
-                            .imports("lombok.Setter")
-                            .javaParser(JavaParser.fromJavaVersion().classpath("lombok"))
-                        .build();
-
-                return template.apply(
-                        updateCursor(classDeclAfterVisit),
-                        classDeclAfterVisit.getCoordinates().addAnnotation(comparing(J.Annotation::getSimpleName)));
+                return LombokAnnotations.addTo(classDeclAfterVisit, LombokAnnotations.annotation("lombok.Setter"),
+                        this, ctx, getCursor().getParentOrThrow());
             }
-            return classDecl;
+            return classDeclAfterVisit;
         }
 
         @Override
         public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations variableDecls, ExecutionContext ctx){
 
-            boolean allFieldsAnnotatedSoFar = getCursor().getNearestMessage(ALL_FIELDS_DECORATED_ACC);
-            if (!allFieldsAnnotatedSoFar) {
+            //only fields of classes whose fields are all annotated are touched
+            boolean isField = getCursor().getParentTreeCursor().getParentTreeCursor().getValue() instanceof J.ClassDeclaration;
+            if (!isField || !getCursor().<Boolean>getNearestMessage(SUMMARIZE, false)) {
                 return variableDecls;
             }
-            J.VariableDeclarations visited = super.visitVariableDeclarations(variableDecls, ctx);
-
-            boolean hasSetterAnnotation = variableDecls != visited;
-            if (hasSetterAnnotation) {
-                return fixFormat(variableDecls, visited, ctx);
-            } else if (variableDecls.hasModifier(J.Modifier.Type.Final)
-                    || variableDecls.hasModifier(J.Modifier.Type.Static)) {
-                //final fields and static field don't need to have an annotation
-                return visited;
-            } else {
-                getCursor().putMessageOnFirstEnclosing(J.ClassDeclaration.class, ALL_FIELDS_DECORATED_ACC, false);
-            }
-            return variableDecls;
-        }
-
-        private J.VariableDeclarations fixFormat(J.VariableDeclarations initial, J.VariableDeclarations visited, ExecutionContext ctx) {
-
-            boolean isAnnotationOnLineAbove = initial.toString().contains("@Setter\n");
-
-            boolean isTopAnnotationRemoved = !initial.getLeadingAnnotations().isEmpty()
-                    && initial.getLeadingAnnotations()
-                    .get(0)
-                    .getSimpleName().equals("Setter");
-
-            if (isAnnotationOnLineAbove && isTopAnnotationRemoved) {
-                String minus1NewLine = visited.getPrefix().getWhitespace().replaceFirst("\n", "");
-                visited = visited.withPrefix(visited.getPrefix().withWhitespace(minus1NewLine));
-            }
-            return autoFormat(visited, ctx);
-        }
-
-        @Override
-        public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
-            boolean isSetterAnnotated = annotation.getSimpleName().equals("Setter")
-                    && annotation.getArguments() == null; //no Access level, or other arguments
-
-            return isSetterAnnotated
-                    //should only trigger on field annotation, not class annotation
-                    && getCursor().getParent().getValue() instanceof J.VariableDeclarations
-                    ? null
-                    : annotation;
+            return LombokAnnotations.removeFrom(variableDecls, "Setter");
         }
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok.log;
+
+import io.github.timoa.table.RecipePerformance;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Preconditions;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.search.UsesType;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ConvertAnyLog extends ConvertLogRecipe {
+
+    @Override
+    public String getDisplayName() {
+        return "Use lomboks log annotation instead of defining the field yourself";
+    }
+
+    @Override
+    public String getDescription() {
+        //language=markdown
+        return "Replaces logger declarations of any framework supported by lombok with class level annotations. " +
+                "If you know which logger framework is in use you can simply use the specific recipe. " +
+                "If, for some reason you need to cover all frameworks you can use this recipe.";
+    }
+
+    @Option(displayName = "Name of the log field",
+            description = FIELD_NAME_DESCRIPTION,
+            example = "LOGGER",
+            required = false)
+    @Nullable
+    String fieldName;
+
+    transient RecipePerformance performance = new RecipePerformance(this);
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return performance.measure(
+                Preconditions.or(
+                        new UsesType<>(LoggerFramework.SLF4J.getLoggerType(), false),
+                        new UsesType<>(LoggerFramework.COMMONS.getLoggerType(), false),
+                        new UsesType<>(LoggerFramework.LOG4J2.getLoggerType(), false),
+                        new UsesType<>(LoggerFramework.JBOSS.getLoggerType(), false),
+                        new UsesType<>(LoggerFramework.UTIL_LOG.getLoggerType(), false)),
+                new AnyLogVisitor(fieldName));
+    }
+
+    public static class AnyLogVisitor extends LogVisitor {
+
+        AnyLogVisitor(String fieldName_) {
+            super(fieldName_, LoggerFramework.values());
+        }
+    }
+}
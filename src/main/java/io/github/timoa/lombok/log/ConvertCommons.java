@@ -15,13 +15,14 @@
  */
 package io.github.timoa.lombok.log;
 
+import io.github.timoa.table.RecipePerformance;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.search.UsesType;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -45,37 +46,17 @@ public class ConvertCommons extends ConvertLogRecipe {
     @Nullable
     String fieldName;
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new CommonsLogVisitor(fieldName);
+        return performance.measure(new UsesType<>("org.apache.commons.logging.Log", false), new CommonsLogVisitor(fieldName));
     }
 
     public static class CommonsLogVisitor extends LogVisitor {
 
         CommonsLogVisitor(String fieldName_) {
-            super(fieldName_);
-        }
-
-        @Override
-        protected void switchImports() {
-            maybeAddImport("lombok.extern.apachecommons.CommonsLog");
-            maybeRemoveImport("org.apache.commons.logging.Log");
-            maybeRemoveImport("org.apache.commons.logging.LogFactory");
-        }
-
-        @Override
-        protected JavaTemplate getLombokTemplate() {
-            return getLombokTemplate("CommonsLog", "lombok.extern.apachecommons.CommonsLog");
-        }
-
-        @Override
-        protected String expectedLoggerPath() {
-            return "org.apache.commons.logging.Log";
-        }
-
-        @Override
-        protected boolean methodPath(String path) {
-            return "org.apache.commons.logging.LogFactory.getLog".equals(path);
+            super(fieldName_, LoggerFramework.COMMONS);
         }
     }
 }
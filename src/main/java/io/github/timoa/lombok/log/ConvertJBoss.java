@@ -15,13 +15,14 @@
  */
 package io.github.timoa.lombok.log;
 
+import io.github.timoa.table.RecipePerformance;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.search.UsesType;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -45,36 +46,17 @@ public class ConvertJBoss extends ConvertLogRecipe {
     @Nullable
     String fieldName;
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JbosslogVisitor(fieldName);
+        return performance.measure(new UsesType<>("org.jboss.logging.Logger", false), new JbosslogVisitor(fieldName));
     }
 
     public static class JbosslogVisitor extends LogVisitor {
 
         JbosslogVisitor(String fieldName_) {
-            super(fieldName_);
-        }
-
-        @Override
-        protected void switchImports() {
-            maybeAddImport("lombok.extern.jbosslog.JBossLog");
-            maybeRemoveImport("org.jboss.logging.Logger");
-        }
-
-        @Override
-        protected JavaTemplate getLombokTemplate() {
-            return getLombokTemplate("JBossLog", "lombok.extern.jbosslog.JBossLog");
-        }
-
-        @Override
-        protected String expectedLoggerPath() {
-            return "org.jboss.logging.Logger";
-        }
-
-        @Override
-        protected boolean methodPath(String path) {
-            return "org.jboss.logging.Logger.getLogger".equals(path);
+            super(fieldName_, LoggerFramework.JBOSS);
         }
     }
 }
@@ -15,13 +15,14 @@
  */
 package io.github.timoa.lombok.log;
 
+import io.github.timoa.table.RecipePerformance;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.search.UsesType;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -45,37 +46,17 @@ public class ConvertLog4j2 extends ConvertLogRecipe {
     @Nullable
     String fieldName;
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new Log4j2Visitor(fieldName);
+        return performance.measure(new UsesType<>("org.apache.logging.log4j.Logger", false), new Log4j2Visitor(fieldName));
     }
 
     public static class Log4j2Visitor extends LogVisitor {
 
         Log4j2Visitor(String fieldName_) {
-            super(fieldName_);
-        }
-
-        @Override
-        protected void switchImports() {
-            maybeAddImport("lombok.extern.log4j.Log4j2");
-            maybeRemoveImport("org.apache.logging.log4j.Logger");
-            maybeRemoveImport("org.apache.logging.log4j.LogManager");
-        }
-
-        @Override
-        protected JavaTemplate getLombokTemplate() {
-            return getLombokTemplate("Log4j2", "lombok.extern.log4j.Log4j2");
-        }
-
-        @Override
-        protected String expectedLoggerPath() {
-            return "org.apache.logging.log4j.Logger";
-        }
-
-        @Override
-        protected boolean methodPath(String path) {
-            return "org.apache.logging.log4j.LogManager.getLogger".equals(path);
+            super(fieldName_, LoggerFramework.LOG4J2);
         }
     }
 }
@@ -15,13 +15,14 @@
  */
 package io.github.timoa.lombok.log;
 
+import io.github.timoa.table.RecipePerformance;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.search.UsesType;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -45,37 +46,17 @@ public class ConvertSlf4j extends ConvertLogRecipe {
     @Nullable
     String fieldName;
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new Slf4jVisitor(fieldName);
+        return performance.measure(new UsesType<>("org.slf4j.Logger", false), new Slf4jVisitor(fieldName));
     }
 
     public static class Slf4jVisitor extends LogVisitor {
 
         Slf4jVisitor(String fieldName_) {
-            super(fieldName_);
-        }
-
-        @Override
-        protected void switchImports() {
-            maybeAddImport("lombok.extern.slf4j.Slf4j");
-            maybeRemoveImport("org.slf4j.Logger");
-            maybeRemoveImport("org.slf4j.LoggerFactory");
-        }
-
-        @Override
-        protected JavaTemplate getLombokTemplate() {
-            return getLombokTemplate("Slf4j", "lombok.extern.slf4j.Slf4j");
-        }
-
-        @Override
-        protected String expectedLoggerPath() {
-            return "org.slf4j.Logger";
-        }
-
-        @Override
-        protected boolean methodPath(String path) {
-            return "org.slf4j.LoggerFactory.getLogger".equals(path);
+            super(fieldName_, LoggerFramework.SLF4J);
         }
     }
 }
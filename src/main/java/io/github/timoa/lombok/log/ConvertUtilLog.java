@@ -15,13 +15,14 @@
  */
 package io.github.timoa.lombok.log;
 
+import io.github.timoa.table.RecipePerformance;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.search.UsesType;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -45,41 +46,17 @@ public class ConvertUtilLog extends ConvertLogRecipe {
     @Nullable
     String fieldName;
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new LogVanillaVisitor(fieldName);
+        return performance.measure(new UsesType<>("java.util.logging.Logger", false), new LogVanillaVisitor(fieldName));
     }
 
     public static class LogVanillaVisitor extends LogVisitor {
 
         LogVanillaVisitor(String fieldName_) {
-            super(fieldName_);
-        }
-
-        @Override
-        protected void switchImports() {
-            maybeAddImport("lombok.extern.java.Log");
-            maybeRemoveImport("java.util.logging.Logger");
-        }
-
-        @Override
-        protected JavaTemplate getLombokTemplate() {
-            return getLombokTemplate("Log", "lombok.extern.java.Log");
-        }
-
-        @Override
-        protected String expectedLoggerPath() {
-            return "java.util.logging.Logger";
-        }
-
-        @Override
-        protected boolean methodPath(String path) {
-            return "java.util.logging.Logger.getLogger".equals(path);
-        }
-
-        @Override
-        protected String getFactoryParameter(String className) {
-            return className + ".class.getName()";
+            super(fieldName_, LoggerFramework.UTIL_LOG);
         }
     }
 }
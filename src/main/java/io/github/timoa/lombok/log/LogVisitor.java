@@ -15,59 +15,88 @@
  */
 package io.github.timoa.lombok.log;
 
+import io.github.timoa.lombok.ImportEdits;
+import io.github.timoa.lombok.LombokAnnotations;
+import io.github.timoa.lombok.MemberVisitor;
+import io.github.timoa.metrics.RecipeMetrics;
+import io.github.timoa.table.VisitStats;
 import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.tree.Flag;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 
-import static java.util.Comparator.comparing;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
-@RequiredArgsConstructor
+/**
+ * Replaces logger fields of the given frameworks with the matching lombok annotation.
+ * <p>
+ * The frameworks are looked up by the type of the field, so any number of them is handled in a single traversal.
+ * Per class and framework at most one field is replaced.
+ */
 @EqualsAndHashCode(callSuper = false)
-abstract class LogVisitor extends JavaIsoVisitor<ExecutionContext> {
+abstract class LogVisitor extends MemberVisitor<ExecutionContext> {
     public static final String CLASS_NAME = "CLASS_NAME";
+    private static final String CONVERTED_FRAMEWORKS = "CONVERTED_FRAMEWORKS";
 
     final String fieldName;
 
+    /**
+     * logger type -> framework
+     */
+    private final Map<String, LoggerFramework> frameworks;
+
+    LogVisitor(String fieldName, LoggerFramework... frameworks) {
+        this.fieldName = fieldName;
+        this.frameworks = LoggerFramework.byLoggerType(frameworks);
+    }
+
     @Override
     public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
 
         getCursor().putMessage(CLASS_NAME, classDecl.getSimpleName());
+        //frameworks whose annotation the class already carries count as converted, lombok would clash otherwise
+        Set<LoggerFramework> annotated = annotatedFrameworks(classDecl);
+        Set<LoggerFramework> converted = EnumSet.noneOf(LoggerFramework.class);
+        converted.addAll(annotated);
+        getCursor().putMessage(CONVERTED_FRAMEWORKS, converted);
 
         J.ClassDeclaration visitClassDeclaration = super.visitClassDeclaration(classDecl, ctx);
 
-        //if nothing changed -> return
-        if (visitClassDeclaration == classDecl) {
-            return classDecl;
+        converted.removeAll(annotated);
+        //if no logger field of this class was removed -> return
+        if (converted.isEmpty()) {
+            return visitClassDeclaration;
         }
 
-        switchImports();
-        return getLombokTemplate().apply(
-                updateCursor(visitClassDeclaration),
-                visitClassDeclaration.getCoordinates().addAnnotation(comparing(J.Annotation::getSimpleName)));
+        ImportEdits<ExecutionContext> importEdits = importEdits();
+        for (LoggerFramework framework : converted) {
+            importEdits.add(framework.getAnnotation());
+            for (String replacedType : framework.getReplacedTypes()) {
+                importEdits.remove(replacedType);
+            }
+            visitClassDeclaration = LombokAnnotations.addTo(visitClassDeclaration,
+                    LombokAnnotations.annotation(framework.getAnnotation()),
+                    this, ctx, getCursor().getParentOrThrow());
+        }
+        return visitClassDeclaration;
     }
 
-    protected abstract JavaTemplate getLombokTemplate();
-
-    protected JavaTemplate getLombokTemplate(String name, String import_) {
-        return JavaTemplate
-                .builder("@"+name+"\n")
-                .javaParser(JavaParser.fromJavaVersion()
-                        .classpath("lombok"))
-                .imports(import_)
-                .build();
+    private Set<LoggerFramework> annotatedFrameworks(J.ClassDeclaration classDecl) {
+        Set<LoggerFramework> annotated = EnumSet.noneOf(LoggerFramework.class);
+        for (J.Annotation annotation : classDecl.getLeadingAnnotations()) {
+            for (LoggerFramework framework : frameworks.values()) {
+                if (TypeUtils.isOfClassType(annotation.getType(), framework.getAnnotation())) {
+                    annotated.add(framework);
+                }
+            }
+        }
+        return annotated;
     }
 
-    protected abstract void switchImports();
-
-    protected abstract boolean methodPath(String path);
-    protected abstract String expectedLoggerPath();
-
     @Override
     public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
 
@@ -79,40 +108,34 @@ abstract class LogVisitor extends JavaIsoVisitor<ExecutionContext> {
         J.VariableDeclarations.NamedVariable var = multiVariable.getVariables().get(0);
 
         JavaType.Variable type = var.getVariableType();
-        if (!type.hasFlags(Flag.Private, Flag.Static, Flag.Final)) {
+        if (type == null || !type.hasFlags(Flag.Private, Flag.Static, Flag.Final)) {
             return multiVariable;
         }
 
         JavaType.FullyQualified type0 = multiVariable.getTypeAsFullyQualified();
-        String path = type0.getFullyQualifiedName();
-        if (!expectedLoggerPath().equals(path))
+        LoggerFramework framework = type0 == null ? null : frameworks.get(type0.getFullyQualifiedName());
+        if (framework == null)
             return multiVariable;
+        VisitStats.match();
 
         //name needs to match the name of the field that lombok creates todo write name normalization recipe
         if (fieldName != null && !fieldName.equals(var.getSimpleName()))
             return multiVariable;
 
-        J.MethodInvocation methodCall = (J.MethodInvocation) var.getInitializer();
-
-        String leftSide = methodCall.getMethodType().getDeclaringType().getFullyQualifiedName() + "." +  methodCall.getMethodType().getName();
-
-        //method call must match
-        if (!methodPath(leftSide)) {
+        //must be initialized by the factory method with the enclosing class as argument
+        String className = getCursor().getNearestMessage(CLASS_NAME);
+        if (className == null || !framework.isFactoryCall(var.getInitializer(), className)) {
             return multiVariable;
         }
 
-        //argument must match
-        String className = getCursor().pollNearestMessage(CLASS_NAME);
-        if (methodCall.getArguments().size() != 1 ||
-                !methodCall.getArguments().get(0).toString().equals(getFactoryParameter(className)
-                )) {
+        //lombok creates one field per framework, further fields of the same framework have to stay
+        Set<LoggerFramework> converted = getCursor().getNearestMessage(CONVERTED_FRAMEWORKS);
+        if (converted == null || !converted.add(framework)) {
             return multiVariable;
         }
 
+        VisitStats.edit();
+        RecipeMetrics.increment(RecipeMetrics.Counter.LOGGERS_CONVERTED);
         return null;
     }
-
-    protected String getFactoryParameter(String className) {
-        return className + ".class";
-    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok.log;
+
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The logging frameworks lombok has an annotation for, together with what a logger field of each looks like.
+ */
+@Getter
+enum LoggerFramework {
+    SLF4J("org.slf4j.Logger", "org.slf4j.LoggerFactory getLogger(..)", false,
+            "lombok.extern.slf4j.Slf4j", "org.slf4j.LoggerFactory"),
+    COMMONS("org.apache.commons.logging.Log", "org.apache.commons.logging.LogFactory getLog(..)", false,
+            "lombok.extern.apachecommons.CommonsLog", "org.apache.commons.logging.LogFactory"),
+    LOG4J2("org.apache.logging.log4j.Logger", "org.apache.logging.log4j.LogManager getLogger(..)", false,
+            "lombok.extern.log4j.Log4j2", "org.apache.logging.log4j.LogManager"),
+    JBOSS("org.jboss.logging.Logger", "org.jboss.logging.Logger getLogger(..)", false,
+            "lombok.extern.jbosslog.JBossLog"),
+    UTIL_LOG("java.util.logging.Logger", "java.util.logging.Logger getLogger(..)", true,
+            "lombok.extern.java.Log");
+
+    /**
+     * fully qualified name of the type of the logger field
+     */
+    private final String loggerType;
+
+    /**
+     * method pattern of the factory method the field is initialized with
+     */
+    private final String factoryMethodPattern;
+
+    /**
+     * matches the factory method the field is initialized with, parsed from the pattern on the first candidate field
+     */
+    @Getter(lazy = true)
+    private final MethodMatcher factoryMethod = new MethodMatcher(factoryMethodPattern);
+
+    /**
+     * true if the factory takes the name of the enclosing class, e.g. `A.class.getName()`,
+     * false if it takes the class itself, e.g. `A.class`
+     */
+    private final boolean factoryTakesClassName;
+
+    /**
+     * fully qualified name of the lombok annotation replacing the field
+     */
+    private final String annotation;
+
+    /**
+     * types whose imports become obsolete once the field is removed, the logger type included
+     */
+    private final List<String> replacedTypes;
+
+    LoggerFramework(String loggerType, String factoryMethodPattern, boolean factoryTakesClassName,
+                    String annotation, String... factoryTypes) {
+        this.loggerType = loggerType;
+        this.factoryMethodPattern = factoryMethodPattern;
+        this.factoryTakesClassName = factoryTakesClassName;
+        this.annotation = annotation;
+        String[] replacedTypes = Arrays.copyOf(new String[]{loggerType}, factoryTypes.length + 1);
+        System.arraycopy(factoryTypes, 0, replacedTypes, 1, factoryTypes.length);
+        this.replacedTypes = Collections.unmodifiableList(Arrays.asList(replacedTypes));
+    }
+
+    /**
+     * @param className simple name of the class declaring the logger field
+     * @return true if the initializer is a call of the factory method with the class or its name as only argument
+     */
+    boolean isFactoryCall(@Nullable Expression initializer, String className) {
+        if (!(initializer instanceof J.MethodInvocation) || !getFactoryMethod().matches((J.MethodInvocation) initializer)) {
+            return false;
+        }
+        List<Expression> arguments = ((J.MethodInvocation) initializer).getArguments();
+        if (arguments.size() != 1) {
+            return false;
+        }
+        Expression argument = arguments.get(0);
+        if (factoryTakesClassName) {
+            //e.g. `A.class.getName()`
+            if (!(argument instanceof J.MethodInvocation)) {
+                return false;
+            }
+            J.MethodInvocation getName = (J.MethodInvocation) argument;
+            if (!"getName".equals(getName.getSimpleName()) || !(getName.getArguments().get(0) instanceof J.Empty)) {
+                return false;
+            }
+            argument = getName.getSelect();
+        }
+        return isClassLiteral(argument, className);
+    }
+
+    /**
+     * @return true if the expression is e.g. `A.class`
+     */
+    private static boolean isClassLiteral(@Nullable Expression expression, String className) {
+        if (!(expression instanceof J.FieldAccess)) {
+            return false;
+        }
+        J.FieldAccess fieldAccess = (J.FieldAccess) expression;
+        return "class".equals(fieldAccess.getSimpleName())
+                && fieldAccess.getTarget() instanceof J.Identifier
+                && className.equals(((J.Identifier) fieldAccess.getTarget()).getSimpleName());
+    }
+
+    /**
+     * @return the frameworks indexed by the fully qualified name of their logger type
+     */
+    static Map<String, LoggerFramework> byLoggerType(LoggerFramework... frameworks) {
+        Map<String, LoggerFramework> byLoggerType = new LinkedHashMap<>();
+        for (LoggerFramework framework : frameworks) {
+            byLoggerType.put(framework.getLoggerType(), framework);
+        }
+        return Collections.unmodifiableMap(byLoggerType);
+    }
+}
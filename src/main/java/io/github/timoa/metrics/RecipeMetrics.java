@@ -0,0 +1,241 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.metrics;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of the recipes of this library, written in the Prometheus text exposition format,
+ * e.g. for the textfile collector of the node exporter.
+ * <p>
+ * Enable it with the system property {@value #OUTPUT_PROPERTY}, naming the file the metrics are written to when the
+ * JVM exits. Alternatively call {@link #enable()} before the run and {@link #write(Path)} after it. The file is
+ * replaced atomically, a scrape never sees half of it.
+ * <p>
+ * Every metric is labeled with the recipe. The recipe is the one whose visitor, wrapped with
+ * <code>RecipePerformance</code>, is visiting a file on the current thread, so the visitors count with
+ * {@link #increment(Counter)} alone. While disabled, every count is a single field read.
+ */
+public final class RecipeMetrics {
+
+    public static final String OUTPUT_PROPERTY = "io.github.timoa.metrics";
+
+    /**
+     * upper bounds of the buckets of the latency histograms, in seconds
+     */
+    private static final double[] BUCKETS = {0.0005, 0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5};
+
+    public enum Counter {
+        FILES_VISITED("rewrite_recipe_files_visited_total", "Source files visited by a recipe."),
+        FILES_CHANGED("rewrite_recipe_files_changed_total", "Source files changed by a recipe."),
+        FIELDS_ANNOTATED("rewrite_recipe_fields_annotated_total", "Fields annotated with a lombok accessor annotation."),
+        GETTERS_REMOVED("rewrite_recipe_getters_removed_total", "Getters removed in favor of lombok."),
+        SETTERS_REMOVED("rewrite_recipe_setters_removed_total", "Setters removed in favor of lombok."),
+        RENAMES_APPLIED("rewrite_recipe_renames_applied_total", "Method declarations and invocations renamed."),
+        LOGGERS_CONVERTED("rewrite_recipe_loggers_converted_total", "Logger fields replaced by a lombok log annotation."),
+        RANGES_REWRITTEN("rewrite_recipe_ranges_rewritten_total", "Range checks rewritten to Guava ranges.");
+
+        private final String metricName;
+        private final String help;
+        private final Map<String, LongAdder> values = new ConcurrentHashMap<>();
+
+        Counter(String metricName, String help) {
+            this.metricName = metricName;
+            this.help = help;
+        }
+    }
+
+    private static final String LATENCY = "rewrite_recipe_file_visit_seconds";
+
+    private static final Map<String, Histogram> LATENCIES = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private static volatile boolean enabled;
+
+    static {
+        String output = System.getProperty(OUTPUT_PROPERTY);
+        if (output != null && !output.isEmpty()) {
+            enable();
+            Path path = Paths.get(output);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> write(path), "recipe-metrics"));
+        }
+    }
+
+    private RecipeMetrics() {
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drops everything counted so far.
+     */
+    public static void reset() {
+        for (Counter counter : Counter.values()) {
+            counter.values.clear();
+        }
+        LATENCIES.clear();
+    }
+
+    /**
+     * Starts the visit of one source file by a recipe.
+     *
+     * @return null if the metrics are disabled or a recipe is visiting already, e.g. a recipe that reuses another one
+     */
+    public static @Nullable FileVisit startFile(String recipe, String phase) {
+        if (!enabled || CURRENT.get() != null) {
+            return null;
+        }
+        String labels = "recipe=\"" + escape(recipe) + "\"";
+        CURRENT.set(labels);
+        return new FileVisit(labels, labels + ",phase=\"" + escape(phase) + "\"");
+    }
+
+    /**
+     * Counts one for the recipe visiting on the current thread, if any.
+     */
+    public static void increment(Counter counter) {
+        if (!enabled) {
+            return;
+        }
+        String labels = CURRENT.get();
+        if (labels != null) {
+            add(counter, labels);
+        }
+    }
+
+    public static final class FileVisit {
+        private final String recipeLabels;
+        private final String phaseLabels;
+        private final long start = System.nanoTime();
+
+        private FileVisit(String recipeLabels, String phaseLabels) {
+            this.recipeLabels = recipeLabels;
+            this.phaseLabels = phaseLabels;
+        }
+
+        public void end(boolean changed) {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            CURRENT.remove();
+            add(Counter.FILES_VISITED, phaseLabels);
+            if (changed) {
+                add(Counter.FILES_CHANGED, recipeLabels);
+            }
+            LATENCIES.computeIfAbsent(phaseLabels, k -> new Histogram()).observe(seconds);
+        }
+    }
+
+    /**
+     * Writes all metrics to a temporary file next to the output, then moves it over the output.
+     */
+    public static void write(Path output) {
+        Path absolute = output.toAbsolutePath();
+        Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(absolute.getParent());
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                writeTo(writer);
+            }
+            try {
+                Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void writeTo(Appendable out) throws IOException {
+        for (Counter counter : Counter.values()) {
+            out.append("# HELP ").append(counter.metricName).append(' ').append(counter.help).append('\n');
+            out.append("# TYPE ").append(counter.metricName).append(" counter\n");
+            for (Map.Entry<String, LongAdder> value : new TreeMap<>(counter.values).entrySet()) {
+                out.append(counter.metricName).append('{').append(value.getKey()).append("} ")
+                        .append(Long.toString(value.getValue().sum())).append('\n');
+            }
+        }
+        out.append("# HELP ").append(LATENCY).append(" Time a recipe spent visiting one source file.\n");
+        out.append("# TYPE ").append(LATENCY).append(" histogram\n");
+        for (Map.Entry<String, Histogram> latency : new TreeMap<>(LATENCIES).entrySet()) {
+            latency.getValue().writeTo(latency.getKey(), out);
+        }
+    }
+
+    private static void add(Counter counter, String labels) {
+        counter.values.computeIfAbsent(labels, k -> new LongAdder()).increment();
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static final class Histogram {
+        /**
+         * observations per bucket, the last one has no upper bound
+         */
+        private final LongAdder[] buckets = new LongAdder[BUCKETS.length + 1];
+        private final DoubleAdder sum = new DoubleAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void observe(double seconds) {
+            int bucket = 0;
+            while (bucket < BUCKETS.length && seconds > BUCKETS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            sum.add(seconds);
+        }
+
+        void writeTo(String labels, Appendable out) throws IOException {
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i].sum();
+                String le = i < BUCKETS.length ? Double.toString(BUCKETS[i]) : "+Inf";
+                out.append(LATENCY).append("_bucket{").append(labels).append(",le=\"").append(le).append("\"} ")
+                        .append(Long.toString(cumulative)).append('\n');
+            }
+            out.append(LATENCY).append("_sum{").append(labels).append("} ").append(Double.toString(sum.sum())).append('\n');
+            out.append(LATENCY).append("_count{").append(labels).append("} ").append(Long.toString(cumulative)).append('\n');
+        }
+    }
+}
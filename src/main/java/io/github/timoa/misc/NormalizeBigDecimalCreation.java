@@ -1,13 +1,17 @@
 package io.github.timoa.misc;
 
+import io.github.timoa.jfr.RecipeEvents;
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.MeasuredJavaVisitor;
+import io.github.timoa.table.VisitStats;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
@@ -17,6 +21,8 @@ import java.util.StringJoiner;
 @EqualsAndHashCode(callSuper = false)
 public class NormalizeBigDecimalCreation extends Recipe {
 
+    transient RecipePerformance performance = new RecipePerformance(this);
+
     @Override
     public String getDisplayName() {
         return "Use Strings for BigDecimal instantiation";
@@ -39,7 +45,7 @@ public class NormalizeBigDecimalCreation extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return performance.measure(new UsesType<>("java.math.BigDecimal", false), new MeasuredJavaVisitor<ExecutionContext>() {
 
             final MethodMatcher VALUE_OF = new MethodMatcher("java.math.BigDecimal valueOf(double)");
 
@@ -70,14 +76,15 @@ public class NormalizeBigDecimalCreation extends Recipe {
             }
 
             private J.NewClass makeBigDecimal(J.Literal doubleLiteral,  org.openrewrite.Cursor scope, org.openrewrite.java.tree.JavaCoordinates coordinates) {
+                VisitStats.match();
+                VisitStats.edit();
                 String converted = doubleLiteral.getValueSource().replace("d", "");//remove trailing 'd' if present
-                return JavaTemplate
+                return RecipeEvents.get().applyTemplate(JavaTemplate
                         .builder("new BigDecimal(\"" + converted + "\")")
                         .imports("java.math.BigDecimal")
-                        .build()
-                        .apply(scope, coordinates);
+                        .build(), scope, coordinates);
             }
-        };
+        });
     }
 
 }
@@ -22,6 +22,15 @@ import com.google.errorprone.refaster.annotation.BeforeTemplate;
 import com.google.errorprone.refaster.annotation.UseImportPolicy;
 import org.openrewrite.java.template.RecipeDescriptor;
 
+/**
+ * The Refaster templates behind `UseRangesRecipes`.
+ * <p>
+ * The visitors generated from them build their templates on first use: creating the composite and its 24 nested
+ * recipes, or asking them for a visitor, builds none. The `Comparable` recipes start with the first file that calls
+ * `compareTo`. Refaster gives the primitive ones no precondition, so they build their templates on the first binary
+ * expression of any kind. The generator owns that code, so it is left as generated. {@link UseRangesInOnePass} is the
+ * consolidated form, which builds a single template per interval on the first range check it rewrites.
+ */
 @RecipeDescriptor(
         name = "Use Guava Ranges",
         description = "Simplifies hand crafted range checks."
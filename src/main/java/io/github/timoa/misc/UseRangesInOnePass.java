@@ -0,0 +1,257 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.misc;
+
+import io.github.timoa.jfr.RecipeEvents;
+import io.github.timoa.metrics.RecipeMetrics;
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.MeasuredJavaVisitor;
+import io.github.timoa.table.VisitStats;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.search.SemanticallyEqual;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Does what the recipes generated from {@link UseRanges} do, but looks at every `&&` only once.
+ * <p>
+ * Both operands are reduced to a {@link Comparison}. The four shapes the templates of every nested recipe accept are
+ * tried on them, and the first shape that fits in the order in which the composite would have run its recipes wins.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class UseRangesInOnePass extends Recipe {
+
+    private static final String RANGE = "com.google.common.collect.Range";
+
+    transient RecipePerformance performance = new RecipePerformance(this);
+
+    @Override
+    public String getDisplayName() {
+        //language=markdown
+        return "Use Guava Ranges in a single pass";
+    }
+
+    @Override
+    public String getDescription() {
+        //language=markdown
+        return new StringJoiner("\n")
+                .add("Simplifies hand crafted range checks, just like `io.github.timoa.misc.UseRangesRecipes`.")
+                .add("Instead of matching every `&&` against the templates of 24 recipes, each `&&` is classified once " +
+                     "by the operators, the shape and the type of its operands.")
+                .toString();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return performance.measure(new MeasuredJavaVisitor<ExecutionContext>() {
+            /**
+             * built on the first match of each interval, a run that finds no range check builds none
+             */
+            final Map<Interval, JavaTemplate> templates = new EnumMap<>(Interval.class);
+
+            @Override
+            public J visitBinary(J.Binary binary, ExecutionContext ctx) {
+                if (binary.getOperator() == J.Binary.Type.And) {
+                    Match match = Match.of(binary);
+                    if (match != null) {
+                        VisitStats.match();
+                        VisitStats.edit();
+                        RecipeMetrics.increment(RecipeMetrics.Counter.RANGES_REWRITTEN);
+                        maybeAddImport(RANGE);
+                        return RecipeEvents.get().applyTemplate(templates.computeIfAbsent(match.interval, Interval::template),
+                                getCursor(), binary.getCoordinates().replace(), match.from, match.to, match.candidate);
+                    }
+                }
+                return super.visitBinary(binary, ctx);
+            }
+        });
+    }
+
+    /**
+     * The nested recipes of {@link UseRanges} per kind of operand, in the order the composite runs them.
+     */
+    @RequiredArgsConstructor
+    enum Interval {
+        CLOSED("closed", true, true),
+        OPEN("open", false, false),
+        CLOSED_OPEN("closedOpen", true, false),
+        OPEN_CLOSED("openClosed", false, true);
+
+        private final String factory;
+        private final boolean lowerInclusive;
+        private final boolean upperInclusive;
+
+        static Interval of(boolean lowerInclusive, boolean upperInclusive) {
+            for (Interval interval : values()) {
+                if (interval.lowerInclusive == lowerInclusive && interval.upperInclusive == upperInclusive) {
+                    return interval;
+                }
+            }
+            throw new IllegalStateException("every combination is covered");
+        }
+
+        JavaTemplate template() {
+            return JavaTemplate.builder("Range." + factory + "(#{any()}, #{any()}).contains(#{any()})")
+                    .imports(RANGE)
+                    .javaParser(GuavaParser.BUILDER)
+                    .build();
+        }
+    }
+
+    /**
+     * Holder so the classpath is searched for guava only once the first range check is found.
+     */
+    private static class GuavaParser {
+        static final JavaParser.Builder<?, ?> BUILDER = JavaParser.fromJavaVersion().classpath("guava");
+    }
+
+    /**
+     * A comparison `left < right`, `left <= right`, `left > right` or `left >= right`, where a comparison of the form
+     * `left.compareTo(right) < 0` counts as `left < right`.
+     */
+    @RequiredArgsConstructor
+    static final class Comparison {
+        final Expression left;
+        final Expression right;
+        final boolean less;
+        final boolean inclusive;
+        /**
+         * whether the operands are compared with `compareTo`, rather than as primitives
+         */
+        final boolean comparable;
+
+        static @Nullable Comparison of(Expression expression) {
+            if (!(expression instanceof J.Binary)) {
+                return null;
+            }
+            J.Binary binary = (J.Binary) expression;
+            boolean less;
+            boolean inclusive;
+            switch (binary.getOperator()) {
+                case LessThan:
+                    less = true;
+                    inclusive = false;
+                    break;
+                case LessThanOrEqual:
+                    less = true;
+                    inclusive = true;
+                    break;
+                case GreaterThan:
+                    less = false;
+                    inclusive = false;
+                    break;
+                case GreaterThanOrEqual:
+                    less = false;
+                    inclusive = true;
+                    break;
+                default:
+                    return null;
+            }
+            if (isZero(binary.getRight()) && binary.getLeft() instanceof J.MethodInvocation) {
+                J.MethodInvocation compareTo = (J.MethodInvocation) binary.getLeft();
+                Expression select = compareTo.getSelect();
+                if (select != null && "compareTo".equals(compareTo.getSimpleName()) &&
+                    compareTo.getArguments().size() == 1 &&
+                    TypeUtils.isAssignableTo("java.lang.Comparable", select.getType())) {
+                    return new Comparison(select, compareTo.getArguments().get(0), less, inclusive, true);
+                }
+            }
+            return new Comparison(binary.getLeft(), binary.getRight(), less, inclusive, false);
+        }
+
+        private static boolean isZero(Expression expression) {
+            return expression instanceof J.Literal && Integer.valueOf(0).equals(((J.Literal) expression).getValue());
+        }
+    }
+
+    @RequiredArgsConstructor
+    static final class Match {
+        final Expression from;
+        final Expression candidate;
+        final Expression to;
+        final Interval interval;
+
+        static @Nullable Match of(J.Binary and) {
+            Comparison l = Comparison.of(and.getLeft());
+            if (l == null) {
+                return null;
+            }
+            Comparison r = Comparison.of(and.getRight());
+            if (r == null || l.comparable != r.comparable) {
+                return null;
+            }
+            // the four @BeforeTemplate shapes of every nested recipe of UseRanges
+            Match[] shapes = {
+                    // from <= candidate && candidate <= to
+                    l.less && r.less && same(l.right, r.left) ?
+                            new Match(l.left, l.right, r.right, Interval.of(l.inclusive, r.inclusive)) : null,
+                    // from <= candidate && to >= candidate
+                    l.less && !r.less && same(l.right, r.right) ?
+                            new Match(l.left, l.right, r.left, Interval.of(l.inclusive, r.inclusive)) : null,
+                    // candidate >= from && candidate <= to
+                    !l.less && r.less && same(l.left, r.left) ?
+                            new Match(l.right, l.left, r.right, Interval.of(l.inclusive, r.inclusive)) : null,
+                    // candidate <= to && from <= candidate
+                    l.less && r.less && same(l.left, r.right) ?
+                            new Match(r.left, l.left, l.right, Interval.of(r.inclusive, l.inclusive)) : null
+            };
+            for (Interval interval : Interval.values()) {
+                for (Match shape : shapes) {
+                    if (shape != null && shape.interval == interval && shape.hasSupportedTypes(l.comparable)) {
+                        return shape;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static boolean same(Expression a, Expression b) {
+            return SemanticallyEqual.areEqual(a, b);
+        }
+
+        /**
+         * The nested recipes take a `T extends Comparable<T>` or one of `int`, `long`, `short`, `float` and `double`
+         * for all three parameters.
+         */
+        private boolean hasSupportedTypes(boolean comparable) {
+            JavaType type = candidate.getType();
+            if (!TypeUtils.isOfType(type, from.getType()) || !TypeUtils.isOfType(type, to.getType())) {
+                return false;
+            }
+            if (comparable) {
+                return TypeUtils.isAssignableTo("java.lang.Comparable", type);
+            }
+            return type == JavaType.Primitive.Int || type == JavaType.Primitive.Long ||
+                   type == JavaType.Primitive.Short || type == JavaType.Primitive.Float ||
+                   type == JavaType.Primitive.Double;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.profile;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * An opt-in profiler of the visitors of this library: cumulative time, self time and calls per recipe and visit
+ * method, merged across all threads.
+ * <p>
+ * Enable it with the system property {@value #OUTPUT_PROPERTY}, naming the file the profile is written to when the
+ * JVM exits. A file ending in <code>.folded</code> or <code>.collapsed</code> gets folded stacks, one line per call
+ * path with the self time in nanoseconds, as <code>flamegraph.pl</code> or speedscope read them. Any other file gets
+ * a table sorted by self time. Alternatively call {@link #enable()} before the run and write the profile yourself.
+ * <p>
+ * Visitors report every {@link TreeVisitor#visit(Tree, Object)} with {@link #enter(TreeVisitor, Tree)} and
+ * {@link #exit(Frame)}. A visit is named after the visit method the kind of the node dispatches to, e.g. a
+ * {@code J.VariableDeclarations} visited by a <code>LogVisitor</code> counts for
+ * <code>ConvertSlf4j.visitVariableDeclarations</code>. Only visits inside a recipe wrapped with
+ * <code>RecipePerformance</code> are recorded. While disabled, every report is a single field read.
+ */
+public final class VisitProfiler {
+
+    public static final String OUTPUT_PROPERTY = "io.github.timoa.profile";
+
+    private static volatile boolean enabled;
+
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+
+    /**
+     * the call trees of all threads, below a nameless root
+     */
+    private static final Frame PROFILE = new Frame("", null);
+
+    private static final ClassValue<ClassValue<String>> NAMES = new ClassValue<ClassValue<String>>() {
+        @Override
+        protected ClassValue<String> computeValue(Class<?> visitor) {
+            String visitorName = visitor.getName().substring(visitor.getName().lastIndexOf('.') + 1);
+            return new ClassValue<String>() {
+                @Override
+                protected String computeValue(Class<?> tree) {
+                    return visitorName + ".visit" + tree.getSimpleName();
+                }
+            };
+        }
+    };
+
+    static {
+        String output = System.getProperty(OUTPUT_PROPERTY);
+        if (output != null && !output.isEmpty()) {
+            enable();
+            Path path = Paths.get(output);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> write(path), "visit-profiler"));
+        }
+    }
+
+    private VisitProfiler() {
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drops everything recorded so far.
+     */
+    public static void reset() {
+        synchronized (PROFILE) {
+            PROFILE.children.clear();
+        }
+    }
+
+    /**
+     * Starts the call tree of a recipe visiting one source file.
+     *
+     * @return null if the profiler is disabled or a recipe is visiting already, e.g. a recipe that reuses another one
+     */
+    public static @Nullable Frame enterRecipe(String recipe) {
+        if (!enabled || CURRENT.get() != null) {
+            return null;
+        }
+        Frame frame = new Frame(recipe, null);
+        frame.start = System.nanoTime();
+        CURRENT.set(frame);
+        return frame;
+    }
+
+    /**
+     * @return null if nothing is recorded for this visit
+     */
+    public static @Nullable Frame enter(TreeVisitor<?, ?> visitor, @Nullable Tree tree) {
+        if (!enabled || tree == null) {
+            return null;
+        }
+        Frame parent = CURRENT.get();
+        if (parent == null) {
+            return null;
+        }
+        Frame frame = parent.child(NAMES.get(visitor.getClass()).get(tree.getClass()));
+        frame.start = System.nanoTime();
+        CURRENT.set(frame);
+        return frame;
+    }
+
+    public static void exit(@Nullable Frame frame) {
+        if (frame == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - frame.start;
+        frame.calls++;
+        frame.totalNanos += elapsed;
+        CURRENT.set(frame.parent);
+        if (frame.parent == null) {
+            synchronized (PROFILE) {
+                PROFILE.merge(frame);
+            }
+        }
+    }
+
+    /**
+     * Writes the profile as a table if the file name does not end in <code>.folded</code> or <code>.collapsed</code>.
+     */
+    public static void write(Path output) {
+        String fileName = String.valueOf(output.getFileName());
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                if (fileName.endsWith(".folded") || fileName.endsWith(".collapsed")) {
+                    writeFolded(writer);
+                } else {
+                    writeTable(writer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * One line per recipe and visit method, sorted by self time. The cumulative time of recursive visits, like a
+     * block in a block, is only counted for the outermost one.
+     */
+    public static void writeTable(Appendable out) throws IOException {
+        Map<String, long[]> rows = new HashMap<>();
+        synchronized (PROFILE) {
+            for (Frame recipe : PROFILE.children.values()) {
+                summarize(recipe, recipe.name, new HashSet<>(), rows);
+            }
+        }
+        List<Map.Entry<String, long[]>> sorted = new ArrayList<>(rows.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, long[]> row) -> row.getValue()[2]).reversed()
+                .thenComparing(Map.Entry::getKey));
+        out.append(String.format(Locale.ROOT, "%-60s %-60s %12s %16s %16s%n", "recipe", "visit method", "calls", "cumulative (ms)", "self (ms)"));
+        for (Map.Entry<String, long[]> row : sorted) {
+            String[] key = row.getKey().split("\t", 2);
+            long[] values = row.getValue();
+            out.append(String.format(Locale.ROOT, "%-60s %-60s %12d %16.3f %16.3f%n",
+                    key[0], key[1], values[0], values[1] / 1e6, values[2] / 1e6));
+        }
+    }
+
+    /**
+     * One line per call path, frames separated by <code>;</code>, followed by the self time in nanoseconds.
+     */
+    public static void writeFolded(Appendable out) throws IOException {
+        synchronized (PROFILE) {
+            for (Frame recipe : PROFILE.children.values()) {
+                fold(recipe, recipe.name, out);
+            }
+        }
+    }
+
+    private static void summarize(Frame frame, String recipe, Set<String> onStack, Map<String, long[]> rows) {
+        long[] row = rows.computeIfAbsent(recipe + "\t" + (frame.parent == PROFILE ? "(recipe)" : frame.name), k -> new long[3]);
+        boolean outermost = onStack.add(frame.name);
+        row[0] += frame.calls;
+        row[1] += outermost ? frame.totalNanos : 0;
+        row[2] += frame.selfNanos();
+        for (Frame child : frame.children.values()) {
+            summarize(child, recipe, onStack, rows);
+        }
+        if (outermost) {
+            onStack.remove(frame.name);
+        }
+    }
+
+    private static void fold(Frame frame, String path, Appendable out) throws IOException {
+        long self = frame.selfNanos();
+        if (self > 0) {
+            out.append(path).append(' ').append(Long.toString(self)).append('\n');
+        }
+        for (Frame child : frame.children.values()) {
+            fold(child, path + ";" + child.name, out);
+        }
+    }
+
+    /**
+     * A node of a call tree, only ever touched by the thread that visits.
+     */
+    public static final class Frame {
+        private final String name;
+        private final @Nullable Frame parent;
+        private final Map<String, Frame> children = new LinkedHashMap<>();
+        private long start;
+        private long calls;
+        private long totalNanos;
+
+        private Frame(String name, @Nullable Frame parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        private Frame child(String name) {
+            Frame child = children.get(name);
+            if (child == null) {
+                child = new Frame(name, this);
+                children.put(name, child);
+            }
+            return child;
+        }
+
+        private long selfNanos() {
+            long self = totalNanos;
+            for (Frame child : children.values()) {
+                self -= child.totalNanos;
+            }
+            return Math.max(0, self);
+        }
+
+        private void merge(Frame other) {
+            Frame into = child(other.name);
+            into.calls += other.calls;
+            into.totalNanos += other.totalNanos;
+            for (Frame grandChild : other.children.values()) {
+                into.merge(grandChild);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.table;
+
+import io.github.timoa.jfr.RecipeEvents;
+import io.github.timoa.profile.VisitProfiler;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+
+/**
+ * A {@link JavaVisitor} that reports to {@link VisitStats}, the {@link VisitProfiler} and JFR.
+ * <p>
+ * Each visited node is counted and profiled, each visitor scheduled after the visit is recorded. The recipes
+ * extend it instead of {@link JavaVisitor}, or {@link MeasuredJavaIsoVisitor} instead of {@code JavaIsoVisitor}.
+ */
+public abstract class MeasuredJavaVisitor<P> extends JavaVisitor<P> {
+
+    @Override
+    public J preVisit(J tree, P p) {
+        VisitStats.node();
+        return super.preVisit(tree, p);
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, P p) {
+        VisitProfiler.Frame frame = VisitProfiler.enter(this, tree);
+        try {
+            return super.visit(tree, p);
+        } finally {
+            VisitProfiler.exit(frame);
+        }
+    }
+
+    @Override
+    public void doAfterVisit(TreeVisitor<?, P> visitor) {
+        RecipeEvents.get().afterVisit(this, visitor);
+        super.doAfterVisit(visitor);
+    }
+}
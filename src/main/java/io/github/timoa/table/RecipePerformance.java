@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.table;
+
+import io.github.timoa.jfr.RecipeEvents;
+import io.github.timoa.metrics.RecipeMetrics;
+import io.github.timoa.profile.VisitProfiler;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+
+/**
+ * One row per source file and recipe phase: where the time of a run went and why a file was left alone.
+ * <p>
+ * A recipe wraps its visitors with {@link #measure(TreeVisitor)}, its visitors report what they find through
+ * {@link VisitStats}.
+ */
+public class RecipePerformance extends DataTable<RecipePerformance.Row> {
+
+    private final String recipeName;
+
+    public RecipePerformance(Recipe recipe) {
+        super(recipe,
+                "Recipe performance",
+                "Time, visited LST nodes, matches and edits per source file and recipe.");
+        this.recipeName = recipe.getName();
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the source file.")
+        String sourcePath;
+
+        @Column(displayName = "Recipe",
+                description = "The fully qualified name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Phase",
+                description = "`scan` for the scanning phase of a scanning recipe, `edit` otherwise.")
+        String phase;
+
+        @Column(displayName = "Wall time (µs)",
+                description = "Time spent in the visitor of the recipe, in microseconds, preconditions included.")
+        long wallTimeMicros;
+
+        @Column(displayName = "Nodes visited",
+                description = "The number of LST nodes the visitor of the recipe has visited.")
+        long nodesVisited;
+
+        @Column(displayName = "Matches",
+                description = "The number of candidates for a change the recipe has found.")
+        int matches;
+
+        @Column(displayName = "Edits",
+                description = "The number of changes the recipe has made.")
+        int edits;
+
+        @Column(displayName = "Skip reason",
+                description = "Why the file was not changed: `PRECONDITION_MISS`, `NO_CANDIDATES` or `BLACKLISTED_RENAME`.")
+        @Nullable
+        String skipReason;
+    }
+
+    public TreeVisitor<?, ExecutionContext> measure(TreeVisitor<?, ExecutionContext> visitor) {
+        return new Measured(null, visitor, "edit");
+    }
+
+    /**
+     * Like {@link Preconditions#check(TreeVisitor, TreeVisitor)}, a file the precondition does not match is skipped
+     * and reported with {@link SkipReason#PRECONDITION_MISS}.
+     */
+    public TreeVisitor<?, ExecutionContext> measure(TreeVisitor<?, ExecutionContext> precondition,
+                                                    TreeVisitor<?, ExecutionContext> visitor) {
+        return new Measured(precondition, visitor, "edit");
+    }
+
+    public TreeVisitor<?, ExecutionContext> measureScanner(TreeVisitor<?, ExecutionContext> scanner) {
+        return new Measured(null, scanner, "scan");
+    }
+
+    /**
+     * Behaves like {@link Preconditions#check(TreeVisitor, TreeVisitor)}, or like the bare visitor without a
+     * precondition, and measures each source file it is handed. Rows are only written inside a recipe run cycle, a
+     * visitor that runs on its own, e.g. in a test or an external runner, is measured but reports nowhere.
+     */
+    private class Measured extends TreeVisitor<Tree, ExecutionContext> {
+        private final @Nullable TreeVisitor<?, ExecutionContext> precondition;
+        private final TreeVisitor<?, ExecutionContext> delegate;
+        private final String phase;
+
+        Measured(@Nullable TreeVisitor<?, ExecutionContext> precondition, TreeVisitor<?, ExecutionContext> delegate,
+                 String phase) {
+            this.precondition = precondition;
+            this.delegate = delegate;
+            this.phase = phase;
+        }
+
+        @Override
+        public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+            return (precondition == null || precondition.isAcceptable(sourceFile, ctx)) &&
+                   delegate.isAcceptable(sourceFile, ctx);
+        }
+
+        @Override
+        public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+            return visit(tree, ctx, null);
+        }
+
+        @Override
+        public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx, @Nullable Cursor parent) {
+            if (!(tree instanceof SourceFile)) {
+                return visitDelegate(tree, ctx, parent);
+            }
+            //nested in another measured visitor, e.g. the visitor of a recipe that another recipe reuses
+            if (VisitStats.current() != null) {
+                return matches(tree, ctx, parent) ? visitDelegate(tree, ctx, parent) : tree;
+            }
+            String sourcePath = ((SourceFile) tree).getSourcePath().toString();
+            VisitStats stats = VisitStats.start();
+            VisitProfiler.Frame frame = VisitProfiler.enterRecipe(recipeName + " [" + phase + "]");
+            RecipeMetrics.FileVisit metrics = RecipeMetrics.startFile(recipeName, phase);
+            RecipeEvents.FileVisit event = RecipeEvents.get().fileVisit();
+            long start = System.nanoTime();
+            Tree after = tree;
+            try {
+                if (matches(tree, ctx, parent)) {
+                    after = visitDelegate(tree, ctx, parent);
+                } else {
+                    stats.skip(SkipReason.PRECONDITION_MISS);
+                }
+            } finally {
+                VisitStats.end();
+                VisitProfiler.exit(frame);
+                if (metrics != null) {
+                    metrics.end(after != tree);
+                }
+                event.end(recipeName, sourcePath, phase, after != tree);
+            }
+            if (ctx.getMessage(ExecutionContext.CURRENT_CYCLE) != null) {
+                long micros = (System.nanoTime() - start) / 1_000;
+                insertRow(ctx, new Row(sourcePath, recipeName, phase, micros,
+                        stats.nodes, stats.matches, stats.edits, after != tree ? null : stats.skipReason()));
+            }
+            return after;
+        }
+
+        private boolean matches(Tree tree, ExecutionContext ctx, @Nullable Cursor parent) {
+            if (precondition == null) {
+                return true;
+            }
+            return (parent == null ? precondition.visit(tree, ctx) : precondition.visit(tree, ctx, parent)) != tree;
+        }
+
+        private @Nullable Tree visitDelegate(@Nullable Tree tree, ExecutionContext ctx, @Nullable Cursor parent) {
+            return parent == null ? delegate.visit(tree, ctx) : delegate.visit(tree, ctx, parent);
+        }
+    }
+}
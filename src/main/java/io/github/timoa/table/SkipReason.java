@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.table;
+
+/**
+ * Why a recipe left a source file as it was.
+ */
+public enum SkipReason {
+    /**
+     * the precondition of the recipe did not match, its visitor did not run
+     */
+    PRECONDITION_MISS,
+    /**
+     * the visitor ran but found nothing to change
+     */
+    NO_CANDIDATES,
+    /**
+     * a method was not renamed because another method of the class already has the name
+     */
+    BLACKLISTED_RENAME
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.table;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * What the visitor of a recipe did with the current source file, reported to {@link RecipePerformance}.
+ * <p>
+ * The statistics are bound to the thread that visits the file, so visitors report through the static methods
+ * without passing anything around. Outside of a measured visit every report is a no-op.
+ */
+public final class VisitStats {
+
+    private static final ThreadLocal<VisitStats> CURRENT = new ThreadLocal<>();
+
+    long nodes;
+    int matches;
+    int edits;
+    private @Nullable SkipReason skipReason;
+
+    private VisitStats() {
+    }
+
+    static @Nullable VisitStats current() {
+        return CURRENT.get();
+    }
+
+    static VisitStats start() {
+        VisitStats stats = new VisitStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * To be called from `preVisit`, once per visited LST node.
+     */
+    public static void node() {
+        VisitStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.nodes++;
+        }
+    }
+
+    /**
+     * A candidate for a change has been found.
+     */
+    public static void match() {
+        VisitStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.matches++;
+        }
+    }
+
+    /**
+     * A change has been made, or for a scanning recipe planned.
+     */
+    public static void edit() {
+        VisitStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.edits++;
+        }
+    }
+
+    /**
+     * A candidate has been found but is left alone, the first reason given is kept.
+     */
+    public static void skipped(SkipReason reason) {
+        VisitStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.skip(reason);
+        }
+    }
+
+    void skip(SkipReason reason) {
+        if (skipReason == null) {
+            skipReason = reason;
+        }
+    }
+
+    @Nullable
+    String skipReason() {
+        if (skipReason != null) {
+            return skipReason.name();
+        }
+        return matches == 0 ? SkipReason.NO_CANDIDATES.name() : null;
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates Java sources with something to do for every recipe of this library, for benchmarks and scaling tests.
+ * <p>
+ * Every class has one {@link Theme}: trivial accessors, misnamed getters that run into the blacklist of the
+ * normalize recipes, lombok annotated fields, a logger of one of the five frameworks, range checks in every shape
+ * `UseRanges` knows or `BigDecimal`s created from doubles.
+ * <p>
+ * The output only depends on the seed, the number of lines and the number of files. Each file is generated from its
+ * own seed, so files can be streamed to the parser one at a time, e.g.
+ * <pre>
+ * List&lt;SourceFile&gt; sources = SyntheticCorpus.builder().seed(42).linesOfCode(100_000).build().parse(ctx);
+ * </pre>
+ */
+public final class SyntheticCorpus {
+
+    /**
+     * the libraries the generated sources refer to, as expected by {@link JavaParser.Builder#classpath(String...)}
+     */
+    public static final String[] CLASSPATH = {"lombok", "slf4j-api", "commons-logging", "log4j-api", "jboss-logging", "guava"};
+
+    private static final String PACKAGE = "corpus";
+
+    private final long seed;
+    private final int files;
+    private final int linesPerFile;
+
+    private SyntheticCorpus(long seed, int linesOfCode, int files) {
+        this.seed = seed;
+        this.files = files;
+        this.linesPerFile = Math.max(1, linesOfCode / files);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private long seed;
+        private int linesOfCode = 1_000;
+        private int files;
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param linesOfCode roughly the number of lines of all files together, every file is a little longer
+         */
+        public Builder linesOfCode(int linesOfCode) {
+            this.linesOfCode = linesOfCode;
+            return this;
+        }
+
+        /**
+         * @param files the number of files, by default one per 200 lines
+         */
+        public Builder files(int files) {
+            this.files = files;
+            return this;
+        }
+
+        public SyntheticCorpus build() {
+            if (linesOfCode <= 0) {
+                throw new IllegalArgumentException("linesOfCode must be positive, was " + linesOfCode);
+            }
+            return new SyntheticCorpus(seed, linesOfCode, files > 0 ? files : Math.max(1, linesOfCode / 200));
+        }
+    }
+
+    public int getFiles() {
+        return files;
+    }
+
+    /**
+     * @return the path of the i-th file, relative to the root of a project
+     */
+    public Path path(int i) {
+        return Paths.get("src/main/java", PACKAGE, className(i) + ".java");
+    }
+
+    /**
+     * @return the source of the i-th file
+     */
+    public String source(int i) {
+        Random random = new Random(seed * 31 + i);
+        Theme theme = Theme.values()[random.nextInt(Theme.values().length)];
+        return theme.generate(className(i), linesPerFile, random);
+    }
+
+    /**
+     * Generates the files lazily, one at a time.
+     */
+    public Stream<Parser.Input> inputs() {
+        return IntStream.range(0, files).mapToObj(i -> new Parser.Input(path(i),
+                () -> new ByteArrayInputStream(source(i).getBytes(StandardCharsets.UTF_8))));
+    }
+
+    public List<SourceFile> parse(ExecutionContext ctx) {
+        return JavaParser.fromJavaVersion().classpath(CLASSPATH).build()
+                .parseInputs(inputs().collect(Collectors.toList()), null, ctx)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Writes every file below the given directory.
+     *
+     * @return the written files
+     */
+    public List<Path> writeTo(Path root) {
+        return IntStream.range(0, files).mapToObj(i -> {
+            Path file = root.resolve(path(i));
+            try {
+                Files.createDirectories(file.getParent());
+                return Files.write(file, source(i).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).collect(Collectors.toList());
+    }
+
+    private static String className(int i) {
+        return "Synthetic" + i;
+    }
+
+    enum Theme {
+        /**
+         * private fields with a getter and a setter each, and an empty constructor
+         */
+        ACCESSORS {
+            @Override
+            void header(Source s, String className, Random random) {
+                s.line("public " + className + "() {").line("}");
+            }
+
+            @Override
+            void member(Source s, int i, Random random) {
+                boolean isBoolean = random.nextInt(4) == 0;
+                String type = isBoolean ? "boolean" : randomType(random);
+                String field = "field" + i;
+                s.line("private " + type + " " + field + ";")
+                        .line((isBoolean ? "public boolean is" : "public " + type + " get") + capitalize(field) + "() {")
+                        .line("    return " + field + ";")
+                        .line("}")
+                        .line("public void set" + capitalize(field) + "(" + type + " " + field + ") {")
+                        .line("    this." + field + " = " + field + ";")
+                        .line("}");
+            }
+        },
+        /**
+         * getters named after the wrong field, half of them swapped with the getter of another field
+         */
+        MISNAMED_ACCESSORS {
+            @Override
+            void member(Source s, int i, Random random) {
+                String a = "first" + i;
+                String b = "second" + i;
+                s.line("private int " + a + ";").line("private int " + b + ";");
+                if (random.nextBoolean()) {
+                    //both renames are blacklisted, the names are taken
+                    s.line("public int get" + capitalize(a) + "() {").line("    return " + b + ";").line("}")
+                            .line("public int get" + capitalize(b) + "() {").line("    return " + a + ";").line("}");
+                } else {
+                    s.line("public int fetch" + capitalize(a) + "() {").line("    return " + a + ";").line("}")
+                            .line("public void put" + capitalize(b) + "(int value) {").line("    this." + b + " = value;").line("}");
+                }
+            }
+        },
+        /**
+         * lombok annotated fields in a class that has the other parts of `@Data`
+         */
+        ANNOTATED_FIELDS {
+            @Override
+            void imports(Source s, Random random) {
+                s.line("import lombok.EqualsAndHashCode;")
+                        .line("import lombok.Getter;")
+                        .line("import lombok.RequiredArgsConstructor;")
+                        .line("import lombok.Setter;")
+                        .line("import lombok.ToString;");
+            }
+
+            @Override
+            void classAnnotations(Source s, Random random) {
+                s.line("@ToString").line("@EqualsAndHashCode").line("@RequiredArgsConstructor");
+            }
+
+            @Override
+            void member(Source s, int i, Random random) {
+                s.line("@Getter").line("@Setter").line("private " + randomType(random) + " field" + i + ";");
+            }
+        },
+        /**
+         * a logger field of one of the frameworks lombok supports, and methods using it
+         */
+        LOGGER {
+            private final String[][] frameworks = {
+                    {"org.slf4j.Logger", "org.slf4j.LoggerFactory", "LoggerFactory.getLogger(%s.class)"},
+                    {"org.apache.commons.logging.Log", "org.apache.commons.logging.LogFactory", "LogFactory.getLog(%s.class)"},
+                    {"org.apache.logging.log4j.Logger", "org.apache.logging.log4j.LogManager", "LogManager.getLogger(%s.class)"},
+                    {"org.jboss.logging.Logger", null, "Logger.getLogger(%s.class)"},
+                    {"java.util.logging.Logger", null, "Logger.getLogger(%s.class.getName())"},
+            };
+
+            @Override
+            void imports(Source s, Random random) {
+                String[] framework = frameworks[random.nextInt(frameworks.length)];
+                s.framework = framework;
+                s.line("import " + framework[0] + ";");
+                if (framework[1] != null) {
+                    s.line("import " + framework[1] + ";");
+                }
+            }
+
+            @Override
+            void header(Source s, String className, Random random) {
+                String loggerType = s.framework[0].substring(s.framework[0].lastIndexOf('.') + 1);
+                s.line("private static final " + loggerType + " log = " + String.format(s.framework[2], className) + ";");
+            }
+
+            @Override
+            void member(Source s, int i, Random random) {
+                s.line("void step" + i + "() {").line("    log.info(\"step " + i + "\");").line("}");
+            }
+        },
+        /**
+         * hand written range checks, in every shape and interval `UseRanges` converts
+         */
+        RANGE_CHECKS {
+            @Override
+            void imports(Source s, Random random) {
+                s.line("import java.math.BigDecimal;");
+            }
+
+            @Override
+            void member(Source s, int i, Random random) {
+                String type = random.nextInt(4) == 0 ? "BigDecimal" : randomType(random);
+                String lower = random.nextBoolean() ? "=" : "";
+                String upper = random.nextBoolean() ? "=" : "";
+                String check;
+                switch (random.nextInt(4)) {
+                    case 0:
+                        check = compare(type, "from", "<" + lower, "c") + " && " + compare(type, "c", "<" + upper, "to");
+                        break;
+                    case 1:
+                        check = compare(type, "from", "<" + lower, "c") + " && " + compare(type, "to", ">" + upper, "c");
+                        break;
+                    case 2:
+                        check = compare(type, "c", ">" + lower, "from") + " && " + compare(type, "c", "<" + upper, "to");
+                        break;
+                    default:
+                        check = compare(type, "c", "<" + upper, "to") + " && " + compare(type, "from", "<" + lower, "c");
+                }
+                s.line("boolean inRange" + i + "(" + type + " from, " + type + " c, " + type + " to) {")
+                        .line("    return " + check + ";")
+                        .line("}");
+            }
+
+            private String compare(String type, String left, String operator, String right) {
+                return "BigDecimal".equals(type) ?
+                        left + ".compareTo(" + right + ") " + operator + " 0" :
+                        left + " " + operator + " " + right;
+            }
+        },
+        /**
+         * `BigDecimal`s created from double literals
+         */
+        BIG_DECIMAL {
+            @Override
+            void imports(Source s, Random random) {
+                s.line("import java.math.BigDecimal;");
+            }
+
+            @Override
+            void member(Source s, int i, Random random) {
+                String literal = random.nextInt(100) + "." + random.nextInt(100);
+                s.line("BigDecimal amount" + i + "() {")
+                        .line(random.nextBoolean() ?
+                                "    return new BigDecimal(" + literal + ");" :
+                                "    return BigDecimal.valueOf(" + literal + ");")
+                        .line("}");
+            }
+        };
+
+        void imports(Source s, Random random) {
+        }
+
+        void classAnnotations(Source s, Random random) {
+        }
+
+        void header(Source s, String className, Random random) {
+        }
+
+        abstract void member(Source s, int i, Random random);
+
+        String generate(String className, int lines, Random random) {
+            Source s = new Source();
+            s.line("package " + PACKAGE + ";").line("");
+            imports(s, random);
+            s.line("");
+            classAnnotations(s, random);
+            s.line("public class " + className + " {");
+            s.indent = "    ";
+            header(s, className, random);
+            for (int i = 0; s.lines < lines; i++) {
+                s.line("");
+                member(s, i, random);
+            }
+            s.indent = "";
+            return s.line("}").text.toString();
+        }
+
+        private static String randomType(Random random) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    return "long";
+                case 1:
+                    return "double";
+                default:
+                    return "int";
+            }
+        }
+
+        private static String capitalize(String name) {
+            return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+
+    private static final class Source {
+        final StringBuilder text = new StringBuilder();
+        String indent = "";
+        int lines;
+        String[] framework;
+
+        Source line(String line) {
+            if (!line.isEmpty()) {
+                text.append(indent).append(line);
+            }
+            text.append('\n');
+            lines++;
+            return this;
+        }
+    }
+}
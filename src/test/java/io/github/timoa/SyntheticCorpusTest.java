@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa;
+
+import io.github.timoa.lombok.ConvertNoArgsConstructor;
+import io.github.timoa.lombok.Lombokify;
+import io.github.timoa.lombok.NegligentlyConvertEquals;
+import io.github.timoa.lombok.log.ConvertAnyLog;
+import io.github.timoa.misc.NormalizeBigDecimalCreation;
+import io.github.timoa.misc.UseRangesInOnePass;
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.SkipReason;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.tree.ParseError;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticCorpusTest {
+
+    @Test
+    void sameSeedSameSources() {
+        SyntheticCorpus first = SyntheticCorpus.builder().seed(7).linesOfCode(2_000).build();
+        SyntheticCorpus second = SyntheticCorpus.builder().seed(7).linesOfCode(2_000).build();
+        SyntheticCorpus other = SyntheticCorpus.builder().seed(8).linesOfCode(2_000).build();
+
+        assertThat(IntStream.range(0, first.getFiles()).mapToObj(first::source))
+          .containsExactlyElementsOf(IntStream.range(0, second.getFiles()).mapToObj(second::source).toList())
+          .isNotEqualTo(IntStream.range(0, other.getFiles()).mapToObj(other::source).toList());
+    }
+
+    @Test
+    void writesAtLeastTheRequestedLines(@TempDir Path root) {
+        SyntheticCorpus corpus = SyntheticCorpus.builder().seed(1).linesOfCode(1_000).files(4).build();
+
+        List<Path> files = corpus.writeTo(root);
+
+        assertThat(files).hasSize(4).allSatisfy(file -> assertThat(file).isRegularFile());
+        assertThat(IntStream.range(0, 4).map(i -> corpus.source(i).split("\n").length).sum())
+          .isBetween(1_000, 1_200);
+    }
+
+    /**
+     * A scaling test in the small: the generated sources compile, and the recipes that touch them all finish in a
+     * single run.
+     */
+    @Test
+    @Tag("slow")
+    void recipesRunOnCorpus() {
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sources = SyntheticCorpus.builder().seed(42).linesOfCode(10_000).build().parse(ctx);
+
+        assertThat(sources).hasSize(50).noneMatch(ParseError.class::isInstance);
+        for (Recipe recipe : List.of(new Lombokify(), new ConvertAnyLog(null), new UseRangesInOnePass(), new NormalizeBigDecimalCreation())) {
+            assertThat(recipe.run(new InMemoryLargeSourceSet(sources), ctx).getChangeset().getAllResults())
+              .as(recipe.getName())
+              .isNotEmpty();
+        }
+    }
+
+    /**
+     * Reports the share of files that the {@code DeclaresMethod}-style preconditions let the recipes skip on a mixed
+     * corpus. The corpus declares no {@code equals} or {@code hashCode}, so only the no-args constructor recipe is
+     * expected to let some files through.
+     */
+    @Test
+    @Tag("slow")
+    void preconditionSkipRate() {
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sources = SyntheticCorpus.builder().seed(42).linesOfCode(4_000).files(40).build().parse(ctx);
+
+        for (Recipe recipe : List.of(new ConvertNoArgsConstructor(), new NegligentlyConvertEquals())) {
+            //a fresh context per recipe, the data tables of both recipes have the same name
+            RecipeRun run = recipe.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext(Throwable::printStackTrace));
+            List<RecipePerformance.Row> rows = run.getDataTableRows(RecipePerformance.class.getName());
+            long skipped = rows.stream()
+              .filter(row -> SkipReason.PRECONDITION_MISS.name().equals(row.getSkipReason()))
+              .count();
+            String skipRate = String.format("%s skipped %d of %d files (%.1f%%)",
+              recipe.getName(), skipped, rows.size(), 100.0 * skipped / rows.size());
+
+            assertThat(rows).as(recipe.getName()).hasSizeGreaterThanOrEqualTo(sources.size());
+            if (recipe instanceof ConvertNoArgsConstructor) {
+                assertThat(skipped).as(skipRate).isPositive().isLessThan(rows.size());
+            } else {
+                assertThat(skipped).as(skipRate).isEqualTo(rows.size());
+            }
+        }
+    }
+}
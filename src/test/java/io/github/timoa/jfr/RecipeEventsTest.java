@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.jfr;
+
+import io.github.timoa.lombok.NormalizeGetter;
+import io.github.timoa.misc.UseRangesInOnePass;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeEventsTest {
+
+    private static final String RANGE_CHECK = """
+      class A {
+          boolean inRange(int from, int c, int to) {
+              return from <= c && c < to;
+          }
+      }
+      """;
+
+    @Test
+    void disabledByDefault(@TempDir Path dir) throws IOException, ParseException {
+        Path file = dir.resolve("default.jfr");
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.start();
+            new UseRangesInOnePass().run(new InMemoryLargeSourceSet(parse(RANGE_CHECK)), new InMemoryExecutionContext());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file))
+          .noneMatch(e -> e.getEventType().getName().startsWith("io.github.timoa."));
+    }
+
+    @Test
+    void recordsVisitsTemplatesAndAfterVisits(@TempDir Path dir) throws IOException {
+        List<RecordedEvent> events = record(dir, new UseRangesInOnePass(), parse(RANGE_CHECK));
+
+        assertThat(events).extracting(e -> e.getEventType().getName())
+          .contains("io.github.timoa.FileVisit", "io.github.timoa.TemplateApply", "io.github.timoa.AfterVisit");
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("io.github.timoa.FileVisit"))
+          .first()
+          .satisfies(e -> {
+              assertThat(e.getString("recipe")).isEqualTo(UseRangesInOnePass.class.getName());
+              assertThat(e.getBoolean("changed")).isTrue();
+          });
+    }
+
+    @Test
+    void recordsAccumulatorGrowth(@TempDir Path dir) throws IOException {
+        List<RecordedEvent> events = record(dir, new NormalizeGetter(), parse(
+          "class A {\n" +
+          "    int foo;\n" +
+          "    int fetchFoo() {\n" +
+          "        return foo;\n" +
+          "    }\n" +
+          "}"));
+
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("io.github.timoa.AccumulatorGrowth"))
+          .isNotEmpty()
+          .allSatisfy(e -> assertThat(e.getInt("entries")).isEqualTo(1));
+    }
+
+    private static List<SourceFile> parse(String source) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        return JavaParser.fromJavaVersion().classpath("guava").build().parse(ctx, source).toList();
+    }
+
+    private static List<RecordedEvent> record(Path dir, Recipe recipe, List<SourceFile> sources) throws IOException {
+        Path file = dir.resolve("recipes.jfr");
+        try (Recording recording = new Recording()) {
+            for (String event : new String[]{"FileVisit", "TemplateApply", "AfterVisit", "AccumulatorGrowth"}) {
+                recording.enable("io.github.timoa." + event);
+            }
+            recording.start();
+            recipe.run(new InMemoryLargeSourceSet(sources), new InMemoryExecutionContext());
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import io.github.timoa.table.RecipePerformance;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ConvertGetter} and {@link ConvertSetter} annotate the fields of a class while they leave its body, so a file
+ * is walked once however many of its classes change. The node counts of {@link RecipePerformance} show it.
+ * <p>
+ * The fields to annotate are looked up by name, so the time grows linearly with the number of fields. Measuring that
+ * takes a while, those tests are tagged `slow`.
+ */
+class AccessorTraversalTest {
+
+    private static final IntFunction<String> GETTER = i ->
+            "int foo" + i + "; public int getFoo" + i + "() { return foo" + i + "; }";
+
+    private static final IntFunction<String> SETTER = i ->
+            "int foo" + i + "; public void setFoo" + i + "(int foo" + i + ") { this.foo" + i + " = foo" + i + "; }";
+
+    @Test
+    void getterWalksNestedClassesOnce() {
+        assertOneTraversal(new ConvertGetter(), GETTER);
+    }
+
+    @Test
+    void setterWalksNestedClassesOnce() {
+        assertOneTraversal(new ConvertSetter(), SETTER);
+    }
+
+    @Test
+    @Tag("slow")
+    void getterScalesWithTheNumberOfFields() {
+        assertNearLinear(new ConvertGetter(), GETTER);
+    }
+
+    @Test
+    @Tag("slow")
+    void setterScalesWithTheNumberOfFields() {
+        assertNearLinear(new ConvertSetter(), SETTER);
+    }
+
+    /**
+     * A class with 10 to 10,000 fields, each with an accessor. Looking up the field of every declaration in a list would
+     * make the time grow with the square of the number of fields, a tenfold class would take a hundred times as long.
+     */
+    private static void assertNearLinear(Recipe recipe, IntFunction<String> member) {
+        // warm up, so the first size does not pay for class loading and the JIT
+        wallTimeMicros(recipe, classWith(1_000, member));
+        long[] micros = new long[4];
+        int[] fields = {10, 100, 1_000, 10_000};
+        for (int i = 0; i < fields.length; i++) {
+            micros[i] = wallTimeMicros(recipe, classWith(fields[i], member));
+        }
+        assertThat(micros[3])
+                .as("%s: %d, %d, %d and %d µs for 10, 100, 1,000 and 10,000 fields",
+                        recipe.getName(), micros[0], micros[1], micros[2], micros[3])
+                .isLessThan(30 * micros[2]);
+    }
+
+    private static String classWith(int fields, IntFunction<String> member) {
+        return "class A {" + IntStream.range(0, fields).mapToObj(member).collect(Collectors.joining("\n")) + "}";
+    }
+
+    /**
+     * A file with one to eight changed nested classes. With an extra traversal per changed class, the nodes visited
+     * would grow with the square of the number of classes and exceed the nodes in the file.
+     */
+    private static void assertOneTraversal(Recipe recipe, IntFunction<String> member) {
+        long[] visited = new long[9];
+        for (int classes : new int[]{1, 2, 4, 8}) {
+            String source = "class A {" + IntStream.range(0, classes)
+                    .mapToObj(i -> "static class N" + i + " { " + member.apply(0) + " }")
+                    .collect(Collectors.joining()) + "}";
+            visited[classes] = nodesVisited(recipe, source);
+            assertThat(visited[classes]).isPositive().isLessThanOrEqualTo(nodesIn(source));
+        }
+        long perClass = visited[2] - visited[1];
+        assertThat(visited[4] - visited[2]).isEqualTo(2 * perClass);
+        assertThat(visited[8] - visited[4]).isEqualTo(4 * perClass);
+    }
+
+    private static long nodesVisited(Recipe recipe, String source) {
+        return rows(recipe, source).stream().mapToLong(RecipePerformance.Row::getNodesVisited).sum();
+    }
+
+    private static long wallTimeMicros(Recipe recipe, String source) {
+        return rows(recipe, source).stream().mapToLong(RecipePerformance.Row::getWallTimeMicros).sum();
+    }
+
+    private static List<RecipePerformance.Row> rows(Recipe recipe, String source) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        RecipeRun run = recipe.run(new InMemoryLargeSourceSet(parse(ctx, source)), ctx);
+        assertThat(run.getChangeset().getAllResults()).hasSize(1);
+        return run.getDataTableRows(RecipePerformance.class.getName());
+    }
+
+    private static long nodesIn(String source) {
+        long[] nodes = new long[1];
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J preVisit(J tree, Integer p) {
+                nodes[0]++;
+                return tree;
+            }
+        }.visit(parse(new InMemoryExecutionContext(), source).get(0), 0);
+        return nodes[0];
+    }
+
+    private static List<SourceFile> parse(ExecutionContext ctx, String source) {
+        return JavaParser.fromJavaVersion().build().parse(ctx, source).collect(Collectors.toList());
+    }
+}
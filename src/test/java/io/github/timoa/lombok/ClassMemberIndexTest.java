@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassMemberIndexTest {
+
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    private final J.ClassDeclaration classDecl = JavaParser.fromJavaVersion().build()
+      .parse(ctx, "class A { int foo; int getFoo() { return foo; } }")
+      .map(J.CompilationUnit.class::cast)
+      .findFirst()
+      .orElseThrow()
+      .getClasses().get(0);
+
+    @Test
+    void sameDeclarationSharesTheIndex() {
+        assertThat(ClassMemberIndex.of(classDecl, ctx)).isSameAs(ClassMemberIndex.of(classDecl, ctx));
+    }
+
+    @Test
+    void changedDeclarationIsIndexedAgain() {
+        ClassMemberIndex index = ClassMemberIndex.of(classDecl, ctx);
+        J.ClassDeclaration withoutGetter = classDecl.withBody(classDecl.getBody().withStatements(
+          classDecl.getBody().getStatements().subList(0, 1)));
+
+        ClassMemberIndex changed = ClassMemberIndex.of(withoutGetter, ctx);
+
+        assertThat(changed).isNotSameAs(index);
+        assertThat(changed.getMethodNames()).isEmpty();
+        assertThat(index.getMethodNames()).containsExactly("getFoo");
+    }
+}
@@ -380,6 +380,48 @@ class ConvertGetterTest implements RewriteTest {
         );
     }
 
+    @Test
+    void annotationGoesBetweenExistingAnnotationsAndModifiers() {
+        rewriteRun(// language=java
+          java(
+            """
+              class A {
+
+                  /**
+                   * the foo
+                   */
+                  @Deprecated
+                  private int foo;
+                  private int bar;
+
+                  public int getFoo() {
+                      return foo;
+                  }
+
+                  public int getBar() {
+                      return bar;
+                  }
+              }
+              """,
+            """
+              import lombok.Getter;
+
+              class A {
+
+                  /**
+                   * the foo
+                   */
+                  @Deprecated
+                  @Getter
+                  private int foo;
+                  @Getter
+                  private int bar;
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void noChangeWhenPrimitiveBooleanUsesGet() {
         rewriteRun(// language=java
@@ -460,4 +502,123 @@ class ConvertGetterTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void replaceGettersOfNestedClasses() {
+        rewriteRun(// language=java
+          java(
+            """
+              class A {
+              
+                  int foo = 9;
+              
+                  public int getFoo() {
+                      return foo;
+                  }
+              
+                  static class B {
+              
+                      int ba = 1;
+              
+                      public int getBa() {
+                          return ba;
+                      }
+                  }
+              
+                  class C {
+              
+                      int foo = 2;
+              
+                      private int getFoo() {
+                          return foo;
+                      }
+                  }
+              }
+              """,
+            """
+              import lombok.AccessLevel;
+              import lombok.Getter;
+              
+              class A {
+              
+                  @Getter
+                  int foo = 9;
+              
+                  static class B {
+              
+                      @Getter
+                      int ba = 1;
+                  }
+              
+                  class C {
+              
+                      @Getter(AccessLevel.PRIVATE)
+                      int foo = 2;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void annotateOnlyFieldsOfTheChangedClass() {
+        rewriteRun(// language=java
+          java(
+            """
+              class A {
+              
+                  int foo = 9;
+              
+                  public int getFoo() {
+                      return foo;
+                  }
+              
+                  static class B {
+              
+                      int foo = 1;
+                  }
+              }
+              """,
+            """
+              import lombok.Getter;
+              
+              class A {
+              
+                  @Getter
+                  int foo = 9;
+              
+                  static class B {
+              
+                      int foo = 1;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void replaceGettersOfWideClass() {
+        int fieldCount = 100;
+        StringBuilder fields = new StringBuilder();
+        StringBuilder annotatedFields = new StringBuilder();
+        StringBuilder getters = new StringBuilder();
+        for (int i = 0; i < fieldCount; i++) {
+            fields.append("\n    int field").append(i).append(";\n");
+            annotatedFields.append("\n    @Getter\n    int field").append(i).append(";\n");
+            getters.append("\n    public int getField").append(i).append("() {\n")
+              .append("        return field").append(i).append(";\n")
+              .append("    }\n");
+        }
+        //locals and parameters sharing a name with a field must not be annotated
+        String unrelated = "\n    int unrelated(int field0) {\n        int field1 = field0;\n        return field1;\n    }\n";
+
+        rewriteRun(
+          java(
+            "class A {\n" + fields + getters + unrelated + "}\n",
+            "import lombok.Getter;\n\nclass A {\n" + annotatedFields + unrelated + "}\n"
+          )
+        );
+    }
 }
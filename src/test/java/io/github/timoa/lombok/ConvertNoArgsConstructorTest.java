@@ -15,12 +15,15 @@
  */
 package io.github.timoa.lombok;
 
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.SkipReason;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class ConvertNoArgsConstructorTest implements RewriteTest {
@@ -130,4 +133,42 @@ class ConvertNoArgsConstructorTest implements RewriteTest {
         );
     }
 
+    @Test
+    void preconditionLetsPackagedClassesThrough() {
+        rewriteRun(
+          spec -> spec.dataTable(RecipePerformance.Row.class, rows -> {
+              assertThat(rows).filteredOn(row -> row.getSourcePath().endsWith("A.java"))
+                .extracting(RecipePerformance.Row::getSkipReason).containsNull();
+              assertThat(rows).filteredOn(row -> row.getSourcePath().endsWith("B.java"))
+                .extracting(RecipePerformance.Row::getSkipReason).containsOnly(SkipReason.PRECONDITION_MISS.name());
+          }),
+          // language=java
+          java(
+            """
+              package com.example;
+              
+              class A {
+                  A() {}
+              }
+              """,
+            """
+              package com.example;
+              
+              import lombok.NoArgsConstructor;
+              
+              @NoArgsConstructor(access = AccessLevel.PACKAGE)
+              class A {
+              }
+              """
+          ),
+          // language=java
+          java(
+            """
+              class B {
+                  B(int b) {}
+              }
+              """
+          )
+        );
+    }
 }
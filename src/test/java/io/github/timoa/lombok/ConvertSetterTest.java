@@ -465,6 +465,49 @@ class ConvertSetterTest implements RewriteTest {
         );
     }
 
+    @Test
+    void replaceSettersOfNestedClasses() {
+        rewriteRun(// language=java
+          java(
+            """
+              class A {
+              
+                  int foo = 9;
+              
+                  public void setFoo(int foo) {
+                      this.foo = foo;
+                  }
+              
+                  static class B {
+              
+                      int ba = 1;
+              
+                      protected void setBa(int ba) {
+                          this.ba = ba;
+                      }
+                  }
+              }
+              """,
+            """
+              import lombok.AccessLevel;
+              import lombok.Setter;
+              
+              class A {
+              
+                  @Setter
+                  int foo = 9;
+              
+                  static class B {
+              
+                      @Setter(AccessLevel.PROTECTED)
+                      int ba = 1;
+                  }
+              }
+              """
+          )
+        );
+    }
+
 
 
 
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.tree.JavaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LombokTypeTableTest {
+
+    @Test
+    void everyTypeIsAttributedFromTheTypeTable() {
+        assertThat(LombokTypeTable.NAMES).allSatisfy(name ->
+          assertThat(LombokTypeTable.type(name)).isInstanceOf(JavaType.Class.class));
+    }
+
+    @Test
+    void accessLevelHasItsConstants() {
+        JavaType.FullyQualified accessLevel = LombokTypeTable.type("lombok.AccessLevel");
+
+        assertThat(accessLevel.getKind()).isEqualTo(JavaType.FullyQualified.Kind.Enum);
+        assertThat(accessLevel.getMembers()).extracting(JavaType.Variable::getName)
+          .contains("PUBLIC", "PROTECTED", "PACKAGE", "PRIVATE");
+    }
+}
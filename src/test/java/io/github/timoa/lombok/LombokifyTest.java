@@ -0,0 +1,188 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class LombokifyTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new Lombokify())
+          .parser(JavaParser.fromJavaVersion().logCompilationWarningsAndErrors(true))
+          .expectedCyclesThatMakeChanges(1);
+    }
+
+    @DocumentExample
+    @Test
+    void annotateClassInOneCycle() {
+        rewriteRun(// language=java
+          java(
+            """
+              package com.yourorg;
+              
+              class A {
+              
+                  private int foo;
+              
+                  private String bar;
+              
+                  public A() {
+                  }
+              
+                  public int getFoo() {
+                      return foo;
+                  }
+              
+                  public String giveBar() {
+                      return bar;
+                  }
+              
+                  public void setFoo(int foo) {
+                      this.foo = foo;
+                  }
+              
+                  public void setBar(String bar) {
+                      this.bar = bar;
+                  }
+              }
+              """,
+            """
+              package com.yourorg;
+              
+              import lombok.Getter;
+              import lombok.NoArgsConstructor;
+              import lombok.Setter;
+              
+              @Getter
+              @NoArgsConstructor()
+              @Setter
+              class A {
+              
+                  private int foo;
+              
+                  private String bar;
+              }
+              """
+          ),
+          // language=java
+          java(
+            """
+              package com.yourorg;
+              
+              class B {
+                  String bar(A a) {
+                      return a.giveBar();
+                  }
+              }
+              """,
+            """
+              package com.yourorg;
+              
+              class B {
+                  String bar(A a) {
+                      return a.getBar();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void annotateFieldsWhenNotAllFieldsAreCovered() {
+        rewriteRun(// language=java
+          java(
+            """
+              class A {
+              
+                  int foo;
+              
+                  int bar;
+              
+                  int getFoo() {
+                      return foo;
+                  }
+              
+                  public void setFoo(int foo) {
+                      this.foo = foo;
+                  }
+              }
+              """,
+            """
+              import lombok.AccessLevel;
+              import lombok.Getter;
+              import lombok.Setter;
+              
+              class A {
+              
+                  @Getter(AccessLevel.PACKAGE)
+                  @Setter
+                  int foo;
+              
+                  int bar;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void replaceClassAnnotationsByData() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion().classpath("lombok")),
+          // language=java
+          java(
+            """
+              import lombok.EqualsAndHashCode;
+              import lombok.RequiredArgsConstructor;
+              import lombok.ToString;
+              
+              @ToString
+              @EqualsAndHashCode
+              @RequiredArgsConstructor
+              class A {
+              
+                  private int foo;
+              
+                  public int getFoo() {
+                      return foo;
+                  }
+              
+                  public void setFoo(int foo) {
+                      this.foo = foo;
+                  }
+              }
+              """,
+            """
+              import lombok.Data;
+              
+              @Data
+              class A {
+              
+                  private int foo;
+              }
+              """
+          )
+        );
+    }
+}
@@ -15,12 +15,15 @@
  */
 package io.github.timoa.lombok;
 
+import io.github.timoa.table.RecipePerformance;
+import io.github.timoa.table.SkipReason;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 // This is a test for the ConvertToNoArgsConstructor recipe, as an example of how to write a test for an imperative recipe.
@@ -167,4 +170,71 @@ class NegligentlyConvertEqualsTest implements RewriteTest {
         );
     }
 
+    /**
+     * Anonymous classes cannot be annotated, their methods must not be attributed to the enclosing class.
+     */
+    @Test
+    void ignoreEqualsOfAnonymousClass() {
+        rewriteRun(// language=java
+          java(
+            """
+              class A {
+              
+                  Object foo() {
+                      return new Object() {
+                          @Override
+                          public boolean equals(Object o) {
+                              return false;
+                          }
+                      };
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void preconditionLetsPackagedClassesThrough() {
+        rewriteRun(
+          spec -> spec.dataTable(RecipePerformance.Row.class, rows -> {
+              assertThat(rows).filteredOn(row -> row.getSourcePath().endsWith("A.java"))
+                .extracting(RecipePerformance.Row::getSkipReason).containsNull();
+              assertThat(rows).filteredOn(row -> row.getSourcePath().endsWith("B.java"))
+                .extracting(RecipePerformance.Row::getSkipReason).containsOnly(SkipReason.PRECONDITION_MISS.name());
+          }),
+          // language=java
+          java(
+            """
+              package com.example;
+              
+              class A {
+                  @Override
+                  public int hashCode() {
+                      return 1;
+                  }
+              }
+              """,
+            """
+              package com.example;
+              
+              import lombok.EqualsAndHashCode;
+              
+              @EqualsAndHashCode
+              class A {
+              }
+              """
+          ),
+          // language=java
+          java(
+            """
+              class B {
+                  public boolean equals(B other) {
+                      return true;
+                  }
+              }
+              """
+          )
+        );
+    }
 }
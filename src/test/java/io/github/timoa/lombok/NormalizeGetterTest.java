@@ -606,4 +606,60 @@ class NormalizeGetterTest implements RewriteTest {
         );
     }
 
+    @Test
+    void renameSeveralMethodsAndTheirReferences() {
+        rewriteRun(// language=java
+          java(
+            """
+              package com.yourorg.whatever;
+              class A {
+                  int foo = 9;
+                  int ba = 10;
+                  int giveFoo() { return foo; }
+                  int giveBa() { return ba; }
+              }
+              """,
+            """
+              package com.yourorg.whatever;
+              class A {
+                  int foo = 9;
+                  int ba = 10;
+                  int getFoo() { return foo; }
+                  int getBa() { return ba; }
+              }
+              """
+          ),// language=java
+          java(
+            """
+              package com.yourorg.whatever;
+              import java.util.function.Supplier;
+              class B {
+                  int useIt(A a) {
+                      Supplier<Integer> foo = a::giveFoo;
+                      return foo.get() + a.giveBa();
+                  }
+              }
+              """,
+            """
+              package com.yourorg.whatever;
+              import java.util.function.Supplier;
+              class B {
+                  int useIt(A a) {
+                      Supplier<Integer> foo = a::getFoo;
+                      return foo.get() + a.getBa();
+                  }
+              }
+              """
+          ),// language=java
+          java(
+            """
+              package com.yourorg.whatever;
+              class C {
+                  int giveFoo() { return 1; }
+              }
+              """
+          )
+        );
+    }
+
 }
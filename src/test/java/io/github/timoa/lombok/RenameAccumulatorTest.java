@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.lombok;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RenameAccumulatorTest {
+
+    @Test
+    void mergeRenamesOfPartitions() {
+        RenameAccumulator first = new RenameAccumulator();
+        first.add("com.yourorg.A", "giveFoo", "", "getFoo");
+        RenameAccumulator second = new RenameAccumulator();
+        second.add("com.yourorg.B", "putFoo", "int", "setFoo");
+        second.add("com.yourorg.A", "giveBa", "", "getBa");
+
+        first.merge(second);
+
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(first.renames().newName("com.yourorg.A", "giveFoo", "")).isEqualTo("getFoo");
+        assertThat(first.renames().newName("com.yourorg.A", "giveBa", "")).isEqualTo("getBa");
+        assertThat(first.renames().newName("com.yourorg.B", "putFoo", "int")).isEqualTo("setFoo");
+        assertThat(first.renames().newName("com.yourorg.A", "putFoo", "int")).isNull();
+    }
+
+    @Test
+    void fillFromSeveralThreads() {
+        RenameAccumulator acc = new RenameAccumulator();
+
+        IntStream.range(0, 10_000).parallel()
+          .forEach(i -> acc.add("com.yourorg.A" + i % 10, "giveFoo" + i, "", "getFoo" + i));
+
+        assertThat(acc.size()).isEqualTo(10_000);
+        assertThat(acc.renames().newName("com.yourorg.A3", "giveFoo13", "")).isEqualTo("getFoo13");
+        assertThat(acc.renames().newName("com.yourorg.A4", "giveFoo13", "")).isNull();
+    }
+
+    @Test
+    void frozenAfterTheScanningPhase() {
+        RenameAccumulator acc = new RenameAccumulator();
+        acc.add("com.yourorg.A", "giveFoo", "", "getFoo");
+
+        assertThat(acc.renames()).isSameAs(acc.renames());
+        assertThatThrownBy(() -> acc.add("com.yourorg.A", "giveBa", "", "getBa"))
+          .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -280,4 +280,71 @@ class SummarizeGetterTest implements RewriteTest {
 
 
 
+    @Test
+    void keepModifiersAndInitializer() {
+        rewriteRun(// language=java
+          java(
+            """
+              import lombok.Getter;
+              
+              class A {
+              
+                  @Getter
+                  private final int[] foo = {1,  2,
+                    3};
+              
+              }
+              """,
+            """
+              import lombok.Getter;
+              
+              @Getter
+              class A {
+              
+                  private final int[] foo = {1,  2,
+                    3};
+              
+              }
+              """
+          )
+        );
+    }
+
+    /**
+     * Only fields need to be annotated, parameters of methods don't count.
+     */
+    @Test
+    void ignoreMethodParameters() {
+        rewriteRun(// language=java
+          java(
+            """
+              import lombok.Getter;
+              
+              class A {
+              
+                  @Getter
+                  int foo;
+              
+                  int twice(int factor) {
+                      return 2 * factor;
+                  }
+              }
+              """,
+            """
+              import lombok.Getter;
+              
+              @Getter
+              class A {
+              
+                  int foo;
+              
+                  int twice(int factor) {
+                      return 2 * factor;
+                  }
+              }
+              """
+          )
+        );
+    }
+
 }
@@ -12,7 +12,7 @@ class ConvertAnyLogTest implements RewriteTest {
 
     @Override
     public void defaults(RecipeSpec spec) {
-        spec.recipeFromResources("io.github.timoa.lombok.log.ConvertAnyLog")
+        spec.recipe(new ConvertAnyLog(null))
           .parser(JavaParser.fromJavaVersion()
             .classpath("slf4j-api", "log4j-api", "jboss-logging", "commons-logging"));
     }
@@ -142,4 +142,27 @@ class ConvertAnyLogTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void replaceOnlyOneLoggerPerFramework() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              class A {
+                  private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(A.class);
+                  private static final org.slf4j.Logger other = org.slf4j.LoggerFactory.getLogger(A.class);
+              }
+              """,
+            """
+              import lombok.extern.slf4j.Slf4j;
+              
+              @Slf4j
+              class A {
+                  private static final org.slf4j.Logger other = org.slf4j.LoggerFactory.getLogger(A.class);
+              }
+              """
+          )
+        );
+    }
 }
@@ -263,4 +263,18 @@ class ConvertToLogAnnotationTest implements RewriteTest {
         );
     }
 
+    @Test
+    void shouldNotReplaceWhenNotInitializedByFactory() {
+        rewriteRun(// language=java
+          java(
+            """
+              class A {
+                  private static final org.slf4j.Logger log = null;
+                  private static final org.slf4j.Logger other = org.slf4j.LoggerFactory.getLogger(String.class);
+              }
+              """
+          )
+        );
+    }
+
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.metrics;
+
+import io.github.timoa.lombok.ConvertGetter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeMetricsTest {
+
+    private static final String RECIPE = "recipe=\"" + ConvertGetter.class.getName() + "\"";
+
+    @BeforeAll
+    static void enable() {
+        RecipeMetrics.enable();
+    }
+
+    @BeforeEach
+    void run() {
+        RecipeMetrics.reset();
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        new ConvertGetter().run(new InMemoryLargeSourceSet(JavaParser.fromJavaVersion().build()
+          .parse(ctx, """
+            class A {
+                int foo;
+                public int getFoo() {
+                    return foo;
+                }
+            }
+            """).toList()), ctx);
+    }
+
+    @Test
+    void countersPerRecipe() throws IOException {
+        StringBuilder metrics = new StringBuilder();
+        RecipeMetrics.writeTo(metrics);
+
+        assertThat(metrics.toString().lines()).contains(
+          "# TYPE rewrite_recipe_getters_removed_total counter",
+          "rewrite_recipe_getters_removed_total{" + RECIPE + "} 1",
+          "rewrite_recipe_fields_annotated_total{" + RECIPE + "} 1",
+          "rewrite_recipe_files_changed_total{" + RECIPE + "} 1",
+          "# TYPE rewrite_recipe_file_visit_seconds histogram");
+        assertThat(metrics.toString().lines())
+          .anySatisfy(line -> assertThat(line).startsWith("rewrite_recipe_files_visited_total{" + RECIPE + ",phase=\"edit\"} "))
+          .anySatisfy(line -> assertThat(line).startsWith("rewrite_recipe_file_visit_seconds_bucket{" + RECIPE + ",phase=\"edit\",le=\"+Inf\"} "))
+          .noneMatch(line -> line.startsWith("rewrite_recipe_setters_removed_total{"));
+    }
+
+    @Test
+    void writesTheFileDrop(@TempDir Path dir) throws IOException {
+        Path output = dir.resolve("metrics/recipes.prom");
+        RecipeMetrics.write(output);
+
+        List<String> lines = Files.readAllLines(output);
+        assertThat(lines).contains("rewrite_recipe_getters_removed_total{" + RECIPE + "} 1");
+        assertThat(dir.resolve("metrics")).isDirectoryNotContaining("glob:**.tmp");
+    }
+}
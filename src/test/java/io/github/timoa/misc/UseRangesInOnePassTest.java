@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.misc;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+
+import static org.openrewrite.java.Assertions.java;
+
+/**
+ * Runs every case of {@link UseRangesTest} against the single pass recipe, which has to produce the same output as the
+ * generated recipes.
+ */
+class UseRangesInOnePassTest extends UseRangesTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.parser(JavaParser.fromJavaVersion().classpath("guava"))
+          .recipe(new UseRangesInOnePass());
+    }
+
+    /**
+     * None of the generated recipes takes operands of different types.
+     */
+    @Test
+    void mixedPrimitives() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+
+                void foo(int from, long candidate, int to) {
+                  boolean condition = from <= candidate && candidate <= to;
+                }
+              }
+              """
+          )
+        );
+    }
+}
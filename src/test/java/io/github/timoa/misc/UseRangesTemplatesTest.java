@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.misc;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.J;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins down when the recipes generated from {@link UseRanges} build their templates, see its javadoc.
+ */
+class UseRangesTemplatesTest {
+
+    @Test
+    void noTemplateIsBuiltWithoutABinaryExpression() throws Exception {
+        List<TreeVisitor<?, ExecutionContext>> visitors = visitors();
+        visit(visitors, "class Test { int i = 1; }");
+        for (TreeVisitor<?, ExecutionContext> visitor : visitors) {
+            assertThat(templates(visitor)).containsOnlyNulls();
+        }
+    }
+
+    @Test
+    void comparableTemplatesWaitForCompareTo() throws Exception {
+        List<TreeVisitor<?, ExecutionContext>> visitors = visitors();
+        visit(visitors, "class Test { int inc(int i) { return i + 1; } }");
+        for (TreeVisitor<?, ExecutionContext> visitor : visitors) {
+            if (visitor instanceof Preconditions.Check) {
+                assertThat(templates(visitor)).containsOnlyNulls();
+            } else {
+                // no precondition, so the templates are built on the first binary expression
+                assertThat(templates(visitor)).doesNotContainNull();
+            }
+        }
+    }
+
+    private static List<TreeVisitor<?, ExecutionContext>> visitors() {
+        List<TreeVisitor<?, ExecutionContext>> visitors = new ArrayList<>();
+        for (Recipe recipe : new UseRangesRecipes().getRecipeList()) {
+            visitors.add(recipe.getVisitor());
+        }
+        assertThat(visitors).hasSize(24);
+        return visitors;
+    }
+
+    private static void visit(List<TreeVisitor<?, ExecutionContext>> visitors, String source) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+                .parse(ctx, source)
+                .map(J.CompilationUnit.class::cast)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        for (TreeVisitor<?, ExecutionContext> visitor : visitors) {
+            visitor.visit(cu, ctx);
+        }
+    }
+
+    /**
+     * The before templates of a generated visitor, the after template is only built on a match.
+     */
+    private static List<JavaTemplate> templates(TreeVisitor<?, ExecutionContext> visitor) throws Exception {
+        Object javaVisitor = visitor;
+        if (visitor instanceof Preconditions.Check) {
+            Field v = Preconditions.Check.class.getDeclaredField("v");
+            v.setAccessible(true);
+            javaVisitor = v.get(visitor);
+        }
+        List<JavaTemplate> templates = new ArrayList<>();
+        for (Field field : javaVisitor.getClass().getDeclaredFields()) {
+            if (field.getType() == JavaTemplate.class && !"after".equals(field.getName())) {
+                field.setAccessible(true);
+                templates.add((JavaTemplate) field.get(javaVisitor));
+            }
+        }
+        assertThat(templates).hasSize(4);
+        return templates;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.profile;
+
+import io.github.timoa.lombok.log.ConvertSlf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VisitProfilerTest {
+
+    private static final String RECIPE = ConvertSlf4j.class.getName() + " [edit]";
+
+    @BeforeAll
+    static void enable() {
+        VisitProfiler.enable();
+    }
+
+    @BeforeEach
+    void reset() {
+        VisitProfiler.reset();
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        new ConvertSlf4j(null).run(new InMemoryLargeSourceSet(JavaParser.fromJavaVersion().classpath("slf4j-api").build()
+          .parse(ctx, """
+            class A {
+                private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(A.class);
+            }
+            """).toList()), ctx);
+    }
+
+    @Test
+    void tableByRecipeAndVisitMethod() throws IOException {
+        StringBuilder table = new StringBuilder();
+        VisitProfiler.writeTable(table);
+
+        assertThat(table.toString().lines())
+          .first().asString().startsWith("recipe");
+        assertThat(table.toString().lines())
+          .anySatisfy(line -> assertThat(line).startsWith(RECIPE).contains("ConvertSlf4j$Slf4jVisitor.visitVariableDeclarations"))
+          .anySatisfy(line -> assertThat(line).startsWith(RECIPE).contains("ConvertSlf4j$Slf4jVisitor.visitCompilationUnit"));
+    }
+
+    @Test
+    void foldedStacks(@TempDir Path dir) throws IOException {
+        Path folded = dir.resolve("profile.folded");
+        VisitProfiler.write(folded);
+
+        assertThat(Files.readAllLines(folded))
+          .isNotEmpty()
+          .allSatisfy(line -> assertThat(line).startsWith(RECIPE).matches(".* \\d+"))
+          .anySatisfy(line -> assertThat(line).contains(
+            "ConvertSlf4j$Slf4jVisitor.visitCompilationUnit;ConvertSlf4j$Slf4jVisitor.visitClassDeclaration"));
+    }
+}
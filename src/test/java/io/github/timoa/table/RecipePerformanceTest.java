@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.timoa.table;
+
+import io.github.timoa.lombok.ConvertGetter;
+import io.github.timoa.lombok.NormalizeGetter;
+import io.github.timoa.misc.NormalizeBigDecimalCreation;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.openrewrite.java.Assertions.java;
+
+class RecipePerformanceTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.cycles(1).expectedCyclesThatMakeChanges(1);
+    }
+
+    @Test
+    void countsMatchesAndEdits() {
+        rewriteRun(
+          spec -> spec.recipe(new ConvertGetter())
+            .dataTable(RecipePerformance.Row.class, rows -> assertThat(rows).singleElement().satisfies(row -> {
+                assertThat(row.getSourcePath()).isEqualTo("A.java");
+                assertThat(row.getPhase()).isEqualTo("edit");
+                assertThat(row.getNodesVisited()).isPositive();
+                assertThat(row.getMatches()).isEqualTo(1);
+                assertThat(row.getEdits()).isEqualTo(1);
+                assertThat(row.getSkipReason()).isNull();
+            })),
+          // language=java
+          java(
+            """
+              class A {
+                  int foo;
+                  public int getFoo() {
+                      return foo;
+                  }
+              }
+              """,
+            """
+              import lombok.Getter;
+
+              class A {
+                  @Getter
+                  int foo;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void preconditionMiss() {
+        rewriteRun(
+          spec -> spec.recipe(new NormalizeBigDecimalCreation())
+            .expectedCyclesThatMakeChanges(0)
+            .dataTable(RecipePerformance.Row.class, rows -> assertThat(rows).singleElement().satisfies(row -> {
+                assertThat(row.getEdits()).isZero();
+                assertThat(row.getSkipReason()).isEqualTo(SkipReason.PRECONDITION_MISS.name());
+            })),
+          // language=java
+          java(
+            """
+              class A {
+                  double d = 0.1;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void blacklistedRename() {
+        rewriteRun(
+          spec -> spec.recipe(new NormalizeGetter())
+            .expectedCyclesThatMakeChanges(0)
+            .dataTable(RecipePerformance.Row.class, rows -> assertThat(rows)
+              .extracting(RecipePerformance.Row::getPhase, RecipePerformance.Row::getSkipReason)
+              .contains(tuple("scan", SkipReason.BLACKLISTED_RENAME.name()))),
+          // language=java
+          java(
+            """
+              class A {
+                  int foo;
+                  int bar;
+                  public int getFoo() {
+                      return bar;
+                  }
+                  public int getBar() {
+                      return foo;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void visitOutsideOfARecipeRun() {
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        SourceFile before = JavaParser.fromJavaVersion().build()
+          .parse(ctx, "class A { int foo; public int getFoo() { return foo; } }")
+          .findFirst()
+          .orElseThrow();
+        SourceFile unchanged = JavaParser.fromJavaVersion().build()
+          .parse(ctx, "class B { double d = 0.1; }")
+          .findFirst()
+          .orElseThrow();
+
+        assertThat(new ConvertGetter().getVisitor().visit(before, ctx)).isNotSameAs(before);
+        assertThat(new NormalizeBigDecimalCreation().getVisitor().visit(unchanged, ctx)).isSameAs(unchanged);
+    }
+}